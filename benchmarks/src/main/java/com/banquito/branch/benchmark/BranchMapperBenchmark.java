@@ -0,0 +1,61 @@
+package com.banquito.branch.benchmark;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.mapper.BranchMapper;
+import com.banquito.branch.model.Branch;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Entity to DTO mapping cost as the holiday list grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchMapperBenchmark {
+
+    private static final int LIST_SIZE = 100;
+
+    @Param({"0", "10", "100", "1000", "5000"})
+    private int holidays;
+
+    private BranchMapper mapper;
+    private Branch branch;
+    private List<Branch> branches;
+
+    @Setup
+    public void setUp() {
+        mapper = Mappers.getMapper(BranchMapper.class);
+        branch = Fixtures.branch(1, holidays);
+        branches = IntStream.range(0, LIST_SIZE)
+                .mapToObj(index -> Fixtures.branch(index, holidays))
+                .toList();
+    }
+
+    @Benchmark
+    public BranchDTO toDto() {
+        return mapper.toDto(branch);
+    }
+
+    @Benchmark
+    public List<BranchDTO> toDtoList() {
+        return mapper.toDtoList(branches);
+    }
+}
@@ -0,0 +1,62 @@
+package com.banquito.branch.benchmark;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.mapper.BranchMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link BranchDTO}, compact against pretty printed,
+ * configured like the Spring Boot default mapper (ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BranchSerializationBenchmark {
+
+    @Param({"0", "100", "1000", "5000"})
+    private int holidays;
+
+    private BranchDTO branch;
+    private ObjectWriter compactWriter;
+    private ObjectWriter prettyWriter;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        compactWriter = objectMapper.writerFor(BranchDTO.class);
+        prettyWriter = compactWriter.withDefaultPrettyPrinter();
+        branch = Mappers.getMapper(BranchMapper.class).toDto(Fixtures.branch(1, holidays));
+    }
+
+    @Benchmark
+    public byte[] compact() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(branch);
+    }
+
+    @Benchmark
+    public byte[] pretty() throws JsonProcessingException {
+        return prettyWriter.writeValueAsBytes(branch);
+    }
+}
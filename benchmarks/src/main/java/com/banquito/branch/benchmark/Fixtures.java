@@ -0,0 +1,47 @@
+package com.banquito.branch.benchmark;
+
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds branches shaped like production documents. Holidays are one per
+ * week going back from 2025, so a branch with 5,000 holidays spans about a
+ * century of history.
+ */
+final class Fixtures {
+
+    static final LocalDate LAST_HOLIDAY = LocalDate.of(2025, 12, 25);
+
+    private Fixtures() {
+    }
+
+    static Branch branch(int index, int holidayCount) {
+        Branch branch = new Branch();
+        branch.setId(String.format("%024x", index));
+        branch.setEmailAddress("branch" + index + "@banquito.com");
+        branch.setName("Branch " + index);
+        branch.setPhoneNumber("+5939876" + String.format("%05d", index % 100000));
+        branch.setState("ACTIVE");
+        branch.setCreationDate(LocalDateTime.of(2020, 1, 1, 9, 0));
+        branch.setLastModifiedDate(LocalDateTime.of(2024, 6, 1, 9, 0));
+        branch.setVersion(3L);
+        branch.setBranchHolidays(holidays(holidayCount));
+        return branch;
+    }
+
+    static List<BranchHoliday> holidays(int count) {
+        List<BranchHoliday> holidays = new ArrayList<>(count);
+        for (int i = count - 1; i >= 0; i--) {
+            BranchHoliday holiday = new BranchHoliday();
+            holiday.setDate(LAST_HOLIDAY.minusWeeks(i));
+            holiday.setName("Holiday " + i);
+            holidays.add(holiday);
+        }
+        return holidays;
+    }
+}
@@ -0,0 +1,126 @@
+package com.banquito.branch.benchmark;
+
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.service.HolidayIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Holiday matching: the linear scan the service used to run per request
+ * against the holiday index, and the check on removal of which requested
+ * dates are not among the branch's own holidays, with the hash set of own
+ * dates the service builds against a binary search over the sorted list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HolidayMatchingBenchmark {
+
+    private static final Comparator<BranchHoliday> BY_DATE = Comparator.comparing(BranchHoliday::getDate);
+
+    @Param({"10", "100", "1000", "5000"})
+    private int holidays;
+
+    private Branch branch;
+    private HolidayIndex holidayIndex;
+    private LocalDate missingDate;
+    private LocalDate middleHoliday;
+
+    @Setup
+    public void setUp() {
+        branch = Fixtures.branch(1, holidays);
+        holidayIndex = new HolidayIndex(null, null, new SimpleMeterRegistry(), Duration.ofDays(1));
+        holidayIndex.put(branch);
+        missingDate = Fixtures.LAST_HOLIDAY.plusDays(1);
+        middleHoliday = branch.getBranchHolidays().get(holidays / 2).getDate();
+    }
+
+    @Benchmark
+    public boolean isHolidayLinearScanMiss() {
+        return branch.getBranchHolidays().stream().anyMatch(holiday -> holiday.getDate().equals(missingDate));
+    }
+
+    @Benchmark
+    public boolean isHolidayLinearScanHit() {
+        return branch.getBranchHolidays().stream().anyMatch(holiday -> holiday.getDate().equals(middleHoliday));
+    }
+
+    @Benchmark
+    public boolean isHolidayIndexMiss() {
+        return holidayIndex.isHoliday(branch.getId(), missingDate);
+    }
+
+    @Benchmark
+    public boolean isHolidayIndexHit() {
+        return holidayIndex.isHoliday(branch.getId(), middleHoliday);
+    }
+
+    @Benchmark
+    public List<LocalDate> notOwnDatesHashSet(Removal removal) {
+        Set<LocalDate> ownDates = branch.getBranchHolidays().stream()
+                .map(BranchHoliday::getDate)
+                .collect(Collectors.toSet());
+        return removal.dates.stream()
+                .filter(date -> !ownDates.contains(date))
+                .toList();
+    }
+
+    @Benchmark
+    public List<LocalDate> notOwnDatesBinarySearch(Removal removal) {
+        List<BranchHoliday> ownHolidays = branch.getBranchHolidays();
+        return removal.dates.stream()
+                .filter(date -> Collections.binarySearch(ownHolidays, holiday(date), BY_DATE) < 0)
+                .toList();
+    }
+
+    private static BranchHoliday holiday(LocalDate date) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        return holiday;
+    }
+
+    /**
+     * Dates to remove, going back from the last holiday one day apart, so one
+     * in seven is a holiday of the branch.
+     */
+    @State(Scope.Thread)
+    public static class Removal {
+
+        @Param({"1", "10", "100"})
+        private int removals;
+
+        private List<LocalDate> dates;
+
+        @Setup
+        public void setUp() {
+            dates = new ArrayList<>(removals);
+            for (int i = 0; i < removals; i++) {
+                dates.add(Fixtures.LAST_HOLIDAY.minusDays(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.banquito.branch.loadtest;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Seeds the {@code branches} collection with documents shaped like the ones
+ * the service writes: a fixed set of national holidays per year plus a few
+ * local ones per branch, stored as dates at midnight of the system zone.
+ */
+class DataGenerator {
+
+    static final String COLLECTION = "branches";
+
+    private static final int BATCH_SIZE = 500;
+    private static final int LOCAL_HOLIDAYS_PER_YEAR = 3;
+    private static final List<MonthDay> NATIONAL_HOLIDAYS = List.of(
+            MonthDay.of(1, 1), MonthDay.of(2, 12), MonthDay.of(2, 13), MonthDay.of(3, 29),
+            MonthDay.of(5, 1), MonthDay.of(5, 24), MonthDay.of(8, 10), MonthDay.of(10, 9),
+            MonthDay.of(11, 2), MonthDay.of(11, 3), MonthDay.of(12, 25), MonthDay.of(12, 31));
+    private static final String[] STATES = {"ACTIVE", "ACTIVE", "ACTIVE", "INACTIVE"};
+
+    private final Random random;
+    private final int firstYear;
+    private final int lastYear;
+
+    DataGenerator(long seed, int years) {
+        this.random = new Random(seed);
+        this.lastYear = LocalDate.now().getYear();
+        this.firstYear = lastYear - years + 1;
+    }
+
+    int firstYear() {
+        return firstYear;
+    }
+
+    int lastYear() {
+        return lastYear;
+    }
+
+    /**
+     * Inserts {@code count} branches and returns their IDs.
+     */
+    List<String> seed(MongoDatabase database, int count) {
+        MongoCollection<Document> branches = database.getCollection(COLLECTION);
+        List<String> ids = new ArrayList<>(count);
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            Document branch = branch(i);
+            ids.add(branch.getObjectId("_id").toHexString());
+            batch.add(branch);
+            if (batch.size() == BATCH_SIZE) {
+                branches.insertMany(batch, new InsertManyOptions().ordered(false));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            branches.insertMany(batch, new InsertManyOptions().ordered(false));
+        }
+        return ids;
+    }
+
+    private Document branch(int index) {
+        Date created = toDate(LocalDateTime.of(firstYear, 1, 1, 8, 0).plusDays(random.nextInt(365)));
+        return new Document("_id", new ObjectId())
+                .append("emailAddress", "branch" + index + "@banquito.com")
+                .append("name", "Branch " + index)
+                .append("phoneNumber", String.format("+5939%08d", index))
+                .append("state", STATES[random.nextInt(STATES.length)])
+                .append("creationDate", created)
+                .append("lastModifiedDate", created)
+                .append("version", 0L)
+                .append("branchHolidays", holidays())
+                .append("calendarIds", List.of());
+    }
+
+    private List<Document> holidays() {
+        TreeMap<LocalDate, String> holidays = new TreeMap<>();
+        for (int year = firstYear; year <= lastYear; year++) {
+            for (MonthDay day : NATIONAL_HOLIDAYS) {
+                holidays.put(day.atYear(year), "National holiday " + day);
+            }
+            for (int i = 0; i < LOCAL_HOLIDAYS_PER_YEAR; i++) {
+                holidays.putIfAbsent(LocalDate.ofYearDay(year, 1 + random.nextInt(365)), "Local holiday");
+            }
+        }
+        List<Document> documents = new ArrayList<>(holidays.size());
+        holidays.forEach((date, name) -> documents.add(new Document("date", toDate(date.atStartOfDay()))
+                .append("name", name)));
+        return documents;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -0,0 +1,56 @@
+package com.banquito.branch.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latencies of one workload run, recorded in microseconds and reported in
+ * milliseconds. Each operation gets an HdrHistogram percentile distribution
+ * file ({@code .hgrm}) that can be plotted or compared between runs.
+ */
+record LatencyReport(Workload workload, Duration measured, Map<String, Histogram> histograms,
+                     Map<String, Long> errors) {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    void print(PrintStream out) {
+        double seconds = measured.toMillis() / 1000.0;
+        out.printf("%nWorkload %s, measured for %.1f s%n", workload.displayName(), seconds);
+        out.printf("%-22s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        histograms.forEach((name, histogram) -> out.printf("%-22s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors.get(name),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+    }
+
+    void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(workload.displayName() + "-" + entry.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(
+                directory.resolve(workload.displayName() + "-summary.txt")))) {
+            print(out);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
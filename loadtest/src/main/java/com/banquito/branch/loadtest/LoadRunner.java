@@ -0,0 +1,106 @@
+package com.banquito.branch.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: a fixed number of workers each send one request,
+ * wait for the full response body and record its latency in microseconds.
+ * Because a worker waits before sending the next request, a stalled server
+ * lowers the request rate instead of showing up entirely in the tail, so
+ * compare runs at the same concurrency.
+ */
+class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final HttpClient httpClient;
+    private final Workload.Context context;
+    private final LoadTestOptions options;
+
+    LoadRunner(HttpClient httpClient, Workload.Context context, LoadTestOptions options) {
+        this.httpClient = httpClient;
+        this.context = context;
+        this.options = options;
+    }
+
+    LatencyReport run(Workload workload) throws InterruptedException {
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        Map<String, AtomicLong> errors = new LinkedHashMap<>();
+        for (Workload.Operation operation : workload.operations()) {
+            recorders.put(operation.name(), new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation.name(), new AtomicLong());
+        }
+
+        log.info("Running workload {} with {} workers: {} warm-up, {} measured",
+                workload.displayName(), options.concurrency(), options.warmup(), options.duration());
+        long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+        long end = warmupEnd + options.duration().toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            Random random = new Random(options.seed() + i);
+            workers.submit(() -> {
+                while (System.nanoTime() < end) {
+                    send(workload.pick(random), random, recorders, errors);
+                }
+            });
+        }
+
+        sleepUntil(warmupEnd);
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(counter -> counter.set(0));
+        long measureStart = System.nanoTime();
+        workers.shutdown();
+        workers.awaitTermination(options.duration().toMillis() + TimeUnit.MINUTES.toMillis(10), TimeUnit.MILLISECONDS);
+        Duration measured = Duration.ofNanos(System.nanoTime() - measureStart);
+
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Map<String, Long> errorCounts = new LinkedHashMap<>();
+        recorders.forEach((name, recorder) -> histograms.put(name, recorder.getIntervalHistogram()));
+        errors.forEach((name, counter) -> errorCounts.put(name, counter.get()));
+        return new LatencyReport(workload, measured, histograms, errorCounts);
+    }
+
+    private void send(Workload.Operation operation, Random random, Map<String, Recorder> recorders,
+                      Map<String, AtomicLong> errors) {
+        HttpRequest request = operation.request().apply(context, random);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                errors.get(operation.name()).incrementAndGet();
+            }
+        } catch (Exception e) {
+            errors.get(operation.name()).incrementAndGet();
+            log.debug("Request {} failed", operation.name(), e);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        recorders.get(operation.name()).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.banquito.branch.loadtest;
+
+import com.banquito.branch.BranchServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the scripted workloads end to end. By default it starts an in-memory
+ * MongoDB stand-in, seeds it, and starts the service in this JVM on a random
+ * port. It can also target a service that is already running with
+ * {@code --target=http://host:port}. Either way, the same options give
+ * comparable reports for caching, reactive or virtual thread modes.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+    private static final String DATABASE = "banquito";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        DataGenerator generator = new DataGenerator(options.seed(), options.years());
+
+        MongoServer mongoServer = null;
+        ConfigurableApplicationContext service = null;
+        try {
+            String baseUri;
+            List<String> branchIds;
+            if (options.target() == null) {
+                mongoServer = new MongoServer(new MemoryBackend());
+                InetSocketAddress address = mongoServer.bind();
+                String mongoUri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/" + DATABASE;
+                log.info("Seeding {} branches with {} years of holidays", options.branches(), options.years());
+                try (MongoClient client = MongoClients.create(mongoUri)) {
+                    branchIds = generator.seed(client.getDatabase(DATABASE), options.branches());
+                }
+                service = startService(mongoUri, options.appArgs());
+                baseUri = "http://localhost:" + service.getEnvironment().getProperty("local.server.port");
+            } else {
+                baseUri = options.target();
+                branchIds = fetchBranchIds(httpClient, baseUri);
+            }
+            log.info("Load testing {} with {} branches", baseUri, branchIds.size());
+
+            Workload.Context context = new Workload.Context(baseUri, branchIds, generator.firstYear(),
+                    generator.lastYear());
+            LoadRunner runner = new LoadRunner(httpClient, context, options);
+            for (Workload workload : options.workloads()) {
+                LatencyReport report = runner.run(workload);
+                report.print(System.out);
+                report.write(options.reportDir());
+            }
+            log.info("Reports written to {}", options.reportDir().toAbsolutePath());
+        } finally {
+            if (service != null) {
+                service.close();
+            }
+            if (mongoServer != null) {
+                mongoServer.shutdownNow();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startService(String mongoUri, List<String> appArgs) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.data.mongodb.uri", mongoUri);
+        properties.put("logging.level.com.banquito.branch", "WARN");
+        for (String arg : appArgs) {
+            int separator = arg.indexOf('=');
+            properties.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(BranchServiceApplication.class).run(args);
+    }
+
+    /**
+     * Collects the IDs of every branch of a running service through the
+     * cursor-paged list endpoint.
+     */
+    private static List<String> fetchBranchIds(HttpClient httpClient, String baseUri)
+            throws IOException, InterruptedException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> ids = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(
+                            URI.create(baseUri + "/api/v1/branches?limit=500" + cursor)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Listing branches failed with status " + response.statusCode());
+            }
+            for (JsonNode branch : objectMapper.readTree(response.body())) {
+                ids.add(branch.get("id").asText());
+            }
+            cursor = response.headers().firstValue("X-Next-Cursor").map(id -> "&after=" + id).orElse(null);
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The target service has no branches");
+        }
+        return ids;
+    }
+}
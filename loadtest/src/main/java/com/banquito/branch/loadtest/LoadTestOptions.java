@@ -0,0 +1,67 @@
+package com.banquito.branch.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command line options. Every option is {@code --name=value}; options starting
+ * with {@code --app.} are passed to the service without the prefix.
+ */
+record LoadTestOptions(
+        List<Workload> workloads,
+        int branches,
+        int years,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        String target,
+        Path reportDir,
+        long seed,
+        List<String> appArgs) {
+
+    static LoadTestOptions parse(String[] args) {
+        List<Workload> workloads = Arrays.asList(Workload.values());
+        int branches = 10_000;
+        int years = 20;
+        int concurrency = 32;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(10);
+        String target = null;
+        Path reportDir = Path.of("target", "loadtest-reports");
+        long seed = 42;
+        List<String> appArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (name.startsWith("app.")) {
+                appArgs.add("--" + name.substring(4) + "=" + value);
+                continue;
+            }
+            switch (name) {
+                case "workload" -> workloads = Arrays.stream(value.split(","))
+                        .map(Workload::fromName)
+                        .toList();
+                case "branches" -> branches = Integer.parseInt(value);
+                case "years" -> years = Integer.parseInt(value);
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "target" -> target = value;
+                case "report-dir" -> reportDir = Path.of(value);
+                case "seed" -> seed = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return new LoadTestOptions(workloads, branches, years, concurrency, duration, warmup, target, reportDir,
+                seed, appArgs);
+    }
+}
@@ -0,0 +1,149 @@
+package com.banquito.branch.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Scripted request mixes. Each operation has a relative weight and builds one
+ * request against a random seeded branch.
+ */
+enum Workload {
+
+    READ_HEAVY("read-heavy", List.of(
+            new Operation("holiday-check", 60, (context, random) -> get(context,
+                    "/" + context.branchId(random) + "/holidays/check?date=" + context.date(random))),
+            new Operation("holiday-check-batch", 10, (context, random) -> {
+                LocalDate from = context.date(random).withDayOfMonth(1);
+                return post(context, "/holidays/check", "{\"branchIds\":" + json(context.branchIds(random, 20))
+                        + ",\"from\":\"" + from + "\",\"to\":\"" + from.plusMonths(1).minusDays(1) + "\"}");
+            }),
+            new Operation("get-branch", 10, (context, random) -> get(context, "/" + context.branchId(random))),
+            new Operation("get-summary", 5, (context, random) -> get(context,
+                    "/" + context.branchId(random) + "/summary")),
+            new Operation("get-holidays-year", 5, (context, random) -> get(context,
+                    "/" + context.branchId(random) + "/holidays?year=" + context.date(random).getYear())),
+            new Operation("next-business-day", 5, (context, random) -> get(context,
+                    "/" + context.branchId(random) + "/business-days/next?date=" + context.date(random))),
+            new Operation("add-business-days", 5, (context, random) -> get(context,
+                    "/" + context.branchId(random) + "/business-days/add?date=" + context.date(random)
+                            + "&days=" + (1 + random.nextInt(30)))))),
+
+    MIXED_WRITES("mixed-writes", List.of(
+            new Operation("holiday-check", 40, (context, random) -> get(context,
+                    "/" + context.branchId(random) + "/holidays/check?date=" + context.date(random))),
+            new Operation("get-branch", 20, (context, random) -> get(context, "/" + context.branchId(random))),
+            new Operation("update-phone", 15, (context, random) -> HttpRequest.newBuilder(context.uri(
+                            "/" + context.branchId(random) + "/phone?phoneNumber=%2B5939"
+                                    + String.format("%08d", random.nextInt(100_000_000))))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build()),
+            new Operation("add-holiday", 15, (context, random) -> post(context,
+                    "/" + context.branchId(random) + "/holidays",
+                    "[{\"date\":\"" + context.futureDate(random) + "\",\"name\":\"Load test holiday\"}]")),
+            new Operation("remove-holiday", 10, (context, random) -> HttpRequest.newBuilder(context.uri(
+                            "/" + context.branchId(random) + "/holidays?dates=" + context.futureDate(random)))
+                    .DELETE()
+                    .build()))),
+
+    BULK_LIST("bulk-list", List.of(
+            new Operation("list-page", 80, (context, random) -> get(context,
+                    "?limit=500&after=" + context.branchId(random))),
+            new Operation("closed-on-date", 15, (context, random) -> get(context,
+                    "/closed?date=" + context.date(random))),
+            new Operation("list-all", 3, (context, random) -> get(context, "")),
+            new Operation("stream-all", 2, (context, random) -> HttpRequest.newBuilder(context.uri(""))
+                    .header("Accept", "application/x-ndjson")
+                    .build())));
+
+    private final String displayName;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    Workload(String displayName, List<Operation> operations) {
+        this.displayName = displayName;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    String displayName() {
+        return displayName;
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation pick(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+
+    static Workload fromName(String name) {
+        for (Workload workload : values()) {
+            if (workload.displayName.equals(name)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Unknown workload: " + name);
+    }
+
+    private static HttpRequest get(Context context, String path) {
+        return HttpRequest.newBuilder(context.uri(path)).GET().build();
+    }
+
+    private static HttpRequest post(Context context, String path, String json) {
+        return HttpRequest.newBuilder(context.uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String json(List<String> values) {
+        return values.stream().map(value -> "\"" + value + "\"").collect(Collectors.joining(",", "[", "]"));
+    }
+
+    record Operation(String name, int weight, BiFunction<Context, Random, HttpRequest> request) {
+    }
+
+    /**
+     * What the workloads need to know about the seeded data.
+     */
+    record Context(String baseUri, List<String> branchIds, int firstYear, int lastYear) {
+
+        URI uri(String path) {
+            return URI.create(baseUri + "/api/v1/branches" + path);
+        }
+
+        String branchId(Random random) {
+            return branchIds.get(random.nextInt(branchIds.size()));
+        }
+
+        List<String> branchIds(Random random, int count) {
+            return IntStream.range(0, count).mapToObj(i -> branchId(random)).toList();
+        }
+
+        LocalDate date(Random random) {
+            return LocalDate.ofYearDay(firstYear + random.nextInt(lastYear - firstYear + 1), 1 + random.nextInt(365));
+        }
+
+        /**
+         * A date in the year after the seeded history, so added and removed
+         * holidays do not grow the documents without bound.
+         */
+        LocalDate futureDate(Random random) {
+            return LocalDate.ofYearDay(lastYear + 1, 1 + random.nextInt(28));
+        }
+    }
+}
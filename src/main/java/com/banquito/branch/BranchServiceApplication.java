@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.info.License;
 import io.swagger.v3.oas.annotations.servers.Server;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 
 @SpringBootApplication
@@ -34,7 +35,12 @@ import org.springframework.data.mongodb.config.EnableMongoAuditing;
     }
 )
 public class BranchServiceApplication {
+
+    private static final int STARTUP_STEPS = 10000;
+
     public static void main(String[] args) {
-        SpringApplication.run(BranchServiceApplication.class, args);
+        SpringApplication application = new SpringApplication(BranchServiceApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 } 
\ No newline at end of file
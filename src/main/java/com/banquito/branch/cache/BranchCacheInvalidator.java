@@ -0,0 +1,154 @@
+package com.banquito.branch.cache;
+
+import com.banquito.branch.config.CacheConfig;
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.BranchSummaryDTO;
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.event.HolidayCalendarChangedEvent;
+import com.banquito.branch.service.HolidayCalendarRegistry;
+import com.banquito.branch.service.HolidayIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps the branch read caches exact. A write that knows the version it left
+ * the branch at fences every tier with it instead of evicting, so a read that
+ * was already running cannot put the old state back, and is broadcast to the
+ * other replicas, which fence their in-process copies and holiday index
+ * entries the same way. Single-branch writes then store what they read back,
+ * see {@link #putWritten}. Changes of unknown version still evict.
+ * <p>
+ * The broadcast only exists with {@code branch.cache.shared.enabled}, and the
+ * change stream only with {@code branch.change-stream.enabled}; the caches do
+ * not start without one of them, see {@link CacheConfig}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BranchCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final HolidayIndex holidayIndex;
+    private final HolidayCalendarRegistry calendarRegistry;
+    private final ObjectProvider<RedisInvalidationBroadcaster> broadcaster;
+
+    @EventListener
+    public void onBranchChanged(BranchChangedEvent event) {
+        if (event.isVersioned()) {
+            fenceCaches(event);
+        } else {
+            evictCaches(event);
+        }
+        broadcaster.ifAvailable(redis -> redis.broadcast(event));
+    }
+
+    @EventListener
+    public void onCalendarChanged(HolidayCalendarChangedEvent event) {
+        broadcaster.ifAvailable(RedisInvalidationBroadcaster::broadcastCalendarChange);
+    }
+
+    /**
+     * Reloads the calendars after a calendar change made outside this process.
+     */
+    public void calendarChanged() {
+        calendarRegistry.invalidate();
+    }
+
+    /**
+     * Fences a versioned change in every cache tier without broadcasting it.
+     * A fence never displaces a value of that version or newer, so every
+     * replica that sees the same change may call this.
+     */
+    public void fenceCaches(BranchChangedEvent event) {
+        for (String cacheName : CacheConfig.BRANCH_CACHES) {
+            if (cacheManager.getCache(cacheName) instanceof TwoLevelCache cache) {
+                cache.fence(event.branchId(), event.version());
+            }
+        }
+    }
+
+    /**
+     * Evicts a change from every cache tier without broadcasting it. Deleting
+     * an entry that is already gone is harmless, so every replica that sees
+     * the same change may call this.
+     */
+    public void evictCaches(BranchChangedEvent event) {
+        for (String cacheName : CacheConfig.BRANCH_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (event.isAll()) {
+                cache.clear();
+            } else {
+                cache.evict(event.branchId());
+            }
+        }
+    }
+
+    /**
+     * Applies a change read from the change stream. The write may come from a
+     * process that does not evict the shared tier, such as a script or another
+     * service, so every tier is evicted along with the in-process state.
+     */
+    public void evictChanged(BranchChangedEvent event) {
+        evictCaches(event);
+        evictLocalState(event);
+    }
+
+    /**
+     * Stores the state a local write read back, after {@link #onBranchChanged}
+     * evicted the old entries. The values are {@link Versioned}, so a read
+     * that started before the write and finishes after it cannot replace them
+     * with what it saw.
+     */
+    public void putWritten(String branchId, BranchDTO branch, BranchSummaryDTO summary,
+                           List<BranchHolidayDTO> holidays) {
+        cacheManager.getCache(CacheConfig.BRANCHES).put(branchId, branch);
+        cacheManager.getCache(CacheConfig.BRANCH_SUMMARIES).put(branchId, summary);
+        cacheManager.getCache(CacheConfig.BRANCH_HOLIDAYS).put(branchId, holidays);
+    }
+
+    /**
+     * Applies a change made outside this process: only in-process state is
+     * fenced or dropped, the writer has already done so in the shared tier. A
+     * change to every branch may come from a calendar change, so the calendar
+     * registry is reloaded as well.
+     */
+    public void evictLocal(BranchChangedEvent event) {
+        evictLocalCaches(event);
+        evictLocalState(event);
+    }
+
+    private void evictLocalState(BranchChangedEvent event) {
+        if (event.isAll()) {
+            calendarRegistry.invalidate();
+            holidayIndex.clear();
+        } else if (event.isVersioned()) {
+            holidayIndex.fence(event.branchId(), event.version());
+        } else {
+            holidayIndex.evict(event.branchId());
+        }
+    }
+
+    public void evictLocalCaches(BranchChangedEvent event) {
+        log.debug("Evicting local branch caches for: {}", event.isAll() ? "all branches" : event.branchId());
+        for (String cacheName : CacheConfig.BRANCH_CACHES) {
+            if (!(cacheManager.getCache(cacheName) instanceof TwoLevelCache cache)) {
+                continue;
+            }
+            if (event.isAll()) {
+                cache.clearLocal();
+            } else if (event.isVersioned()) {
+                cache.fenceLocal(event.branchId(), event.version());
+            } else {
+                cache.evictLocal(event.branchId());
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.banquito.branch.cache;
+
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.HolidayCalendar;
+import com.banquito.branch.service.HolidayIndex;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static com.mongodb.client.model.Filters.eq;
+
+/**
+ * Follows the change stream of the {@code branches} collection and applies
+ * every insert, update and delete to the read models, whoever made the write:
+ * the in-process caches and holiday index, and the shared cache tier. The last seen resume token is persisted per consumer so a restarted
+ * pod resumes where it stopped instead of reloading everything. Changes to the
+ * holiday calendars are followed from the current time only, since a restarted
+ * pod loads every calendar again anyway. Updates are applied as fences at the
+ * version of the changed document, so they never drop the state a local write
+ * just cached. Requires a replica set.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "branch.change-stream", name = "enabled", havingValue = "true")
+public class BranchChangeStreamListener implements SmartLifecycle {
+
+    static final String TOKEN_COLLECTION = "change_stream_tokens";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final HolidayIndex holidayIndex;
+    private final BranchCacheInvalidator cacheInvalidator;
+    private final String consumerId;
+    private final Duration tokenSaveInterval;
+
+    private MessageListenerContainer container;
+    private volatile BsonDocument lastToken;
+    private volatile Instant lastTokenSave = Instant.EPOCH;
+
+    public BranchChangeStreamListener(MongoTemplate mongoTemplate,
+                                      HolidayIndex holidayIndex,
+                                      BranchCacheInvalidator cacheInvalidator,
+                                      @Value("${branch.change-stream.consumer-id}") String consumerId,
+                                      @Value("${branch.change-stream.token-save-interval:5s}") Duration tokenSaveInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.holidayIndex = holidayIndex;
+        this.cacheInvalidator = cacheInvalidator;
+        this.consumerId = consumerId;
+        this.tokenSaveInterval = tokenSaveInterval;
+    }
+
+    @Override
+    public synchronized void start() {
+        container = new DefaultMessageListenerContainer(mongoTemplate, null, this::onError);
+        container.start();
+        subscribe(loadToken());
+        container.register(ChangeStreamRequest.builder(this::onCalendarChange)
+                .collection(mongoTemplate.getCollectionName(HolidayCalendar.class))
+                .build(), Document.class);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (container != null) {
+            container.stop();
+            container = null;
+        }
+        saveToken();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container != null && container.isRunning();
+    }
+
+    private void subscribe(BsonDocument resumeToken) {
+        ChangeStreamRequest.ChangeStreamRequestBuilder<Document> request = ChangeStreamRequest.builder(this::onChange)
+                .collection(mongoTemplate.getCollectionName(Branch.class))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null) {
+            log.info("Resuming branch change stream for consumer {}", consumerId);
+            request.resumeAfter(resumeToken);
+        } else {
+            log.info("Starting branch change stream for consumer {} without resume token", consumerId);
+        }
+        container.register(request.build(), Document.class);
+    }
+
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                String branchId = toBranchId(change.getDocumentKey());
+                Document document = message.getBody();
+                Branch branch = document == null ? null : mongoTemplate.getConverter().read(Branch.class, document);
+                BranchChangedEvent event = new BranchChangedEvent(branchId, branch == null ? null : branch.getVersion());
+                if (event.isVersioned()) {
+                    cacheInvalidator.fenceCaches(event);
+                } else {
+                    cacheInvalidator.evictCaches(event);
+                }
+                if (branch != null) {
+                    holidayIndex.refreshIfPresent(branch);
+                } else {
+                    holidayIndex.evict(branchId);
+                }
+            }
+            case DELETE -> cacheInvalidator.evictChanged(new BranchChangedEvent(toBranchId(change.getDocumentKey())));
+            default -> cacheInvalidator.evictChanged(BranchChangedEvent.all());
+        }
+        lastToken = change.getResumeToken();
+        if (Duration.between(lastTokenSave, Instant.now()).compareTo(tokenSaveInterval) >= 0) {
+            saveToken();
+        }
+    }
+
+    private void onCalendarChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        cacheInvalidator.evictChanged(BranchChangedEvent.all());
+    }
+
+    private void onError(Throwable error) {
+        if (error instanceof MongoCommandException commandError
+                && commandError.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+            log.warn("Branch change stream history lost, dropping local state and restarting");
+            lastToken = null;
+            mongoTemplate.getCollection(TOKEN_COLLECTION).deleteOne(eq("_id", consumerId));
+            cacheInvalidator.evictChanged(BranchChangedEvent.all());
+            synchronized (this) {
+                if (container != null) {
+                    subscribe(null);
+                }
+            }
+            return;
+        }
+        log.error("Error on branch change stream", error);
+    }
+
+    private BsonDocument loadToken() {
+        Document stored = mongoTemplate.getCollection(TOKEN_COLLECTION).find(eq("_id", consumerId)).first();
+        return stored == null ? null : stored.get("token", Document.class)
+                .toBsonDocument(BsonDocument.class, mongoTemplate.getDb().getCodecRegistry());
+    }
+
+    private void saveToken() {
+        BsonDocument token = lastToken;
+        if (token == null) {
+            return;
+        }
+        mongoTemplate.getCollection(TOKEN_COLLECTION).replaceOne(eq("_id", consumerId),
+                new Document("_id", consumerId).append("token", token).append("updatedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+        lastTokenSave = Instant.now();
+    }
+
+    private static String toBranchId(BsonDocument documentKey) {
+        BsonValue id = documentKey.get("_id");
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.banquito.branch.cache;
+
+import com.banquito.branch.event.BranchChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Publishes branch invalidations on a Redis channel and applies the ones sent
+ * by other replicas. Messages have the form {@code <instance>|<branchId>}, with
+ * {@code *} as branch ID when every branch changed, followed by
+ * {@code |<version>} when the version the write produced is known. A calendar
+ * change is sent as {@code <instance>|@calendars}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "branch.cache.shared", name = "enabled", havingValue = "true")
+public class RedisInvalidationBroadcaster implements MessageListener {
+
+    public static final String CHANNEL = "branch-cache-invalidation";
+    private static final String ALL = "*";
+    private static final String CALENDARS = "@calendars";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectProvider<BranchCacheInvalidator> invalidator;
+
+    public RedisInvalidationBroadcaster(StringRedisTemplate redisTemplate,
+                                        ObjectProvider<BranchCacheInvalidator> invalidator) {
+        this.redisTemplate = redisTemplate;
+        this.invalidator = invalidator;
+    }
+
+    public void broadcast(BranchChangedEvent event) {
+        String message = instanceId + "|" + (event.isAll() ? ALL : event.branchId());
+        if (event.isVersioned()) {
+            message += "|" + event.version();
+        }
+        redisTemplate.convertAndSend(CHANNEL, message);
+    }
+
+    public void broadcastCalendarChange() {
+        redisTemplate.convertAndSend(CHANNEL, instanceId + "|" + CALENDARS);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf('|');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        String[] change = body.substring(separator + 1).split("\\|", 2);
+        String branchId = change[0];
+        if (CALENDARS.equals(branchId)) {
+            invalidator.getObject().calendarChanged();
+            return;
+        }
+        invalidator.getObject().evictLocal(ALL.equals(branchId)
+                ? BranchChangedEvent.all()
+                : new BranchChangedEvent(branchId, change.length > 1 ? Long.valueOf(change[1]) : null));
+    }
+}
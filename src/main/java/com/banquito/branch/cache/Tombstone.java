@@ -0,0 +1,17 @@
+package com.banquito.branch.cache;
+
+import java.io.Serializable;
+
+/**
+ * Stands in for a cached value that a write replaced, carrying the version the
+ * write produced. {@link TwoLevelCache} reads it as a miss and only lets a
+ * value of at least that version replace it, so a read that started before the
+ * write cannot put the old state back.
+ */
+public record Tombstone(Long version) implements Versioned, Serializable {
+
+    @Override
+    public Long getVersion() {
+        return version;
+    }
+}
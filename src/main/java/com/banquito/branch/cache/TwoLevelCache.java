@@ -0,0 +1,179 @@
+package com.banquito.branch.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a bounded in-process tier in front of an optional shared tier.
+ * Reads fall through local then shared; a shared hit is copied into the local
+ * tier. Writes and evictions go to both tiers.
+ * <p>
+ * A {@link Versioned} value is not stored over one with a higher version, so
+ * a read that started before a write and finishes after the writer cached its
+ * result cannot put the old state back. A write that does not read its result
+ * back {@link #fence fences} the key instead of evicting it: a
+ * {@link Tombstone} with the new version is read as a miss and only replaced
+ * by a value at least that new. The checks are atomic in the local tier and a
+ * read-then-write in the shared tier.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final CaffeineCache local;
+    private final Cache shared;
+
+    public TwoLevelCache(CaffeineCache local, Cache shared) {
+        this.local = local;
+        this.shared = shared;
+    }
+
+    public CaffeineCache getLocal() {
+        return local;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null && !(value.get() instanceof Tombstone)) {
+            return value;
+        }
+        if (shared != null) {
+            ValueWrapper sharedValue = shared.get(key);
+            if (sharedValue != null && !(sharedValue.get() instanceof Tombstone)
+                    && !isOlder(sharedValue.get(), value == null ? null : value.get())) {
+                putLocal(key, sharedValue.get());
+                return sharedValue;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        return value == null ? null : type.cast(value.get());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        putLocal(key, value);
+        putShared(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (shared != null) {
+            shared.evict(key);
+        }
+        local.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        if (shared != null) {
+            shared.clear();
+        }
+        local.clear();
+    }
+
+    /**
+     * Replaces the value of a key with a {@link Tombstone} of {@code version}
+     * in both tiers, unless a tier already holds a value that new.
+     */
+    public void fence(Object key, long version) {
+        if (shared != null) {
+            ValueWrapper current = shared.get(key);
+            if (current == null || versionOf(current.get()) < version) {
+                shared.put(key, new Tombstone(version));
+            }
+        }
+        fenceLocal(key, version);
+    }
+
+    /**
+     * Fences only the in-process tier, for writes received from other
+     * replicas that already fenced the shared tier.
+     */
+    public void fenceLocal(Object key, long version) {
+        local.getNativeCache().asMap().compute(key,
+                (k, current) -> current != null && versionOf(current) >= version ? current : new Tombstone(version));
+    }
+
+    /**
+     * Evicts only the in-process tier, for invalidations received from other
+     * replicas that already cleared the shared tier.
+     */
+    public void evictLocal(Object key) {
+        local.evict(key);
+    }
+
+    public void clearLocal() {
+        local.clear();
+    }
+
+    private void putLocal(Object key, Object value) {
+        if (value instanceof Versioned) {
+            local.getNativeCache().asMap().compute(key, (k, current) -> isOlder(value, current) ? current : value);
+        } else {
+            local.put(key, value);
+        }
+    }
+
+    private void putShared(Object key, Object value) {
+        if (shared == null) {
+            return;
+        }
+        if (value instanceof Versioned) {
+            ValueWrapper current = shared.get(key);
+            if (current != null && isOlder(value, current.get())) {
+                return;
+            }
+        }
+        shared.put(key, value);
+    }
+
+    static boolean isOlder(Object value, Object current) {
+        return value instanceof Versioned candidate && current instanceof Versioned stored
+                && versionOf(candidate) < versionOf(stored);
+    }
+
+    private static long versionOf(Versioned value) {
+        return value.getVersion() == null ? 0L : value.getVersion();
+    }
+
+    /**
+     * Values that carry no version may be older than any write, so they never
+     * outrank a fence.
+     */
+    private static long versionOf(Object value) {
+        return value instanceof Versioned versioned ? versionOf(versioned) : -1L;
+    }
+}
@@ -0,0 +1,10 @@
+package com.banquito.branch.cache;
+
+/**
+ * A cached value that carries the version of the branch it was read from.
+ * {@link TwoLevelCache} never replaces a value with one of a lower version.
+ */
+public interface Versioned {
+
+    Long getVersion();
+}
@@ -0,0 +1,25 @@
+package com.banquito.branch.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * A list cached together with the version of the branch it was read from. It
+ * is still written as a plain JSON array.
+ */
+public class VersionedList<E> extends ArrayList<E> implements Versioned {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long version;
+
+    public VersionedList(Collection<? extends E> elements, Long version) {
+        super(elements);
+        this.version = version;
+    }
+
+    @Override
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,110 @@
+package com.banquito.branch.config;
+
+import com.banquito.branch.cache.RedisInvalidationBroadcaster;
+import com.banquito.branch.cache.TwoLevelCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Read caches for branch lookups, enabled with {@code branch.cache.enabled}: a
+ * bounded Caffeine tier per replica and, when {@code branch.cache.shared.enabled}
+ * is set, a Redis tier shared by all replicas. Invalidation is driven by
+ * {@code BranchChangedEvent}.
+ * <p>
+ * Writes only reach other replicas through the Redis broadcast
+ * ({@code branch.cache.shared.enabled}) or the change stream
+ * ({@code branch.change-stream.enabled}). Without either, each replica would
+ * serve other replicas' old writes for up to {@code expire-after-write}, so
+ * the caches refuse to start unless one of them is enabled. With caching
+ * disabled, as by default, every read goes to MongoDB.
+ */
+@Slf4j
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BRANCHES = "branches";
+    public static final String BRANCH_SUMMARIES = "branchSummaries";
+    public static final String BRANCH_HOLIDAYS = "branchHolidays";
+    public static final List<String> BRANCH_CACHES = List.of(BRANCHES, BRANCH_SUMMARIES, BRANCH_HOLIDAYS);
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${branch.cache.enabled:false}") boolean enabled,
+            @Value("${branch.cache.local.maximum-size:10000}") long maximumSize,
+            @Value("${branch.cache.local.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${branch.cache.shared.enabled:false}") boolean sharedEnabled,
+            @Value("${branch.cache.shared.time-to-live:1h}") Duration sharedTimeToLive,
+            @Value("${branch.change-stream.enabled:false}") boolean changeStreamEnabled,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+        if (!enabled) {
+            log.info("Branch caches are disabled");
+            return new NoOpCacheManager();
+        }
+        if (!sharedEnabled && !changeStreamEnabled) {
+            throw new IllegalStateException("Branch caches need an invalidation channel: enable "
+                    + "branch.cache.shared or branch.change-stream, or disable branch.cache");
+        }
+        RedisCacheManager sharedCacheManager = null;
+        if (sharedEnabled) {
+            sharedCacheManager = RedisCacheManager.builder(redisConnectionFactory.getObject())
+                    .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                            .entryTtl(sharedTimeToLive)
+                            .prefixCacheNameWith("branch-service:"))
+                    .initialCacheNames(new HashSet<>(BRANCH_CACHES))
+                    .build();
+            sharedCacheManager.afterPropertiesSet();
+        }
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        List<Cache> caches = new ArrayList<>();
+        for (String name : BRANCH_CACHES) {
+            CaffeineCache local = new CaffeineCache(name, Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats()
+                    .build());
+            caches.add(new TwoLevelCache(local, sharedCacheManager == null ? null : sharedCacheManager.getCache(name)));
+        }
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(cache.getLocal().getNativeCache(), cache.getName(), tags);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "branch.cache.shared", name = "enabled", havingValue = "true")
+    public RedisMessageListenerContainer branchInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, RedisInvalidationBroadcaster broadcaster) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(RedisInvalidationBroadcaster.CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,24 @@
+package com.banquito.branch.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Service-level instrumentation. Classes annotated with
+ * {@code @Timed(SERVICE_TIMER)} get one timer per public method, tagged with
+ * the class and method name. HTTP, MongoDB command and connection pool metrics
+ * come from the Spring Boot auto-configuration; their histograms are enabled
+ * in {@code application.yml}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "branch.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
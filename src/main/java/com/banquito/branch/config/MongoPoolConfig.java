@@ -0,0 +1,36 @@
+package com.banquito.branch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB connection pool sizing. With virtual threads the number of
+ * concurrent requests is no longer capped by the Tomcat thread pool, so the
+ * driver pool becomes the real concurrency limit and is sized explicitly.
+ * The connection rate and the wait for a free connection default to the
+ * driver's own values; a short wait turns a slow database into request
+ * errors instead of queueing.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "branch.mongo.pool", name = "max-size")
+public class MongoPoolConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            @Value("${branch.mongo.pool.max-size}") int maxSize,
+            @Value("${branch.mongo.pool.min-size:0}") int minSize,
+            @Value("${branch.mongo.pool.max-connecting:2}") int maxConnecting,
+            @Value("${branch.mongo.pool.max-wait:2m}") Duration maxWait) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .minSize(minSize)
+                .maxConnecting(maxConnecting)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
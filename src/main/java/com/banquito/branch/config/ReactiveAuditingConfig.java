@@ -0,0 +1,14 @@
+package com.banquito.branch.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+
+/**
+ * Auditing for entities saved through the reactive repositories.
+ */
+@Configuration
+@EnableReactiveMongoAuditing
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuditingConfig {
+}
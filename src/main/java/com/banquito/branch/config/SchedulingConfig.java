@@ -0,0 +1,17 @@
+package com.banquito.branch.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on the scheduled holiday archival job. Concurrent runs on several
+ * replicas are safe but redundant, so deployments usually enable it on one.
+ * The archive cutoff guards are controlled separately by
+ * {@code branch.holiday-archive.enabled}, which every replica sets.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "branch.holiday-archive.scheduler", name = "enabled", havingValue = "true")
+public class SchedulingConfig {
+}
@@ -0,0 +1,75 @@
+package com.banquito.branch.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * CBOR as an alternative to JSON for callers that send
+ * {@code Accept: application/cbor}. The CBOR mapper is built from the same
+ * Spring Boot builder as the JSON one, so both formats share the
+ * {@code spring.jackson.*} settings. The reactive codecs are registered for
+ * {@code application/cbor} only; without it Spring gives them the JSON media
+ * types and they take over JSON responses. The reactive encoder cannot write
+ * a {@code Flux}, so streamed reactive responses stay JSON only.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer cborCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper mapper = cborMapper(builder);
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2CborDecoder(mapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().register(new SingleValueCborEncoder(mapper));
+        };
+    }
+
+    private static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+
+    /**
+     * Spring's reactive CBOR encoder rejects every publisher, even a single
+     * value; single values are written with {@code encodeValue}.
+     */
+    static class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        SingleValueCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            if (inputStream instanceof Mono<?> value) {
+                return value.map(body -> encodeValue(body, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
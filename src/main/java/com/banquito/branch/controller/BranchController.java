@@ -2,7 +2,17 @@ package com.banquito.branch.controller;
 
 import com.banquito.branch.dto.BranchDTO;
 import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.dto.BranchSummaryDTO;
+import com.banquito.branch.dto.BusinessDayBatchDTO;
+import com.banquito.branch.dto.BusinessDayResultDTO;
+import com.banquito.branch.dto.HolidayCheckBatchDTO;
+import com.banquito.branch.dto.HolidayCheckBatchResultDTO;
+import com.banquito.branch.dto.HolidayRolloutDTO;
+import com.banquito.branch.dto.HolidayRolloutResultDTO;
 import com.banquito.branch.service.BranchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -13,27 +23,41 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v1/branches")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "Branch Management", description = "APIs for managing bank branches and their holidays")
 public class BranchController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BranchService branchService;
+    private final ObjectMapper objectMapper;
 
-    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
     @Operation(
-        summary = "Get all branches",
-        description = "Retrieves a list of all bank branches with their details including holidays"
+        summary = "Get a page of branches",
+        description = "Retrieves one page of bank branches with their details including holidays, "
+            + "ordered by ID and " + BranchService.DEFAULT_PAGE_SIZE + " branches long unless a limit is given. "
+            + "Sets the " + NEXT_CURSOR_HEADER + " header while more branches remain; "
+            + "request application/x-ndjson to stream every branch"
     )
     @ApiResponses({
         @ApiResponse(
@@ -50,13 +74,67 @@ public class BranchController {
             content = @Content
         )
     })
-    public ResponseEntity<List<BranchDTO>> getAllBranches() {
-        return ResponseEntity.ok(branchService.getAllBranches());
+    public ResponseEntity<List<BranchDTO>> getAllBranches(
+        @Parameter(
+            description = "Return only branches whose ID is greater than this cursor",
+            example = "507f1f77bcf86cd799439011"
+        )
+        @RequestParam(required = false) String after,
+        @Parameter(
+            description = "Maximum number of branches in the page (1-" + BranchService.MAX_PAGE_SIZE
+                + ", default " + BranchService.DEFAULT_PAGE_SIZE + ")",
+            example = "100"
+        )
+        @RequestParam(required = false) Integer limit
+    ) {
+        List<BranchDTO> page = branchService.getBranchPage(after, limit);
+        int size = limit == null ? BranchService.DEFAULT_PAGE_SIZE : limit;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, page.get(page.size() - 1).getId());
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Stream all branches",
+        description = "Streams every branch as newline-delimited JSON straight from a database cursor"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Branches streamed successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = BranchDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllBranches() {
+        ObjectWriter writer = objectMapper.writerFor(BranchDTO.class);
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<BranchDTO> branches = branchService.streamAllBranches()) {
+                Iterator<BranchDTO> iterator = branches.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping(
-        consumes = MediaType.APPLICATION_JSON_VALUE,
-        produces = MediaType.APPLICATION_JSON_VALUE
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Create a new branch",
@@ -93,9 +171,99 @@ public class BranchController {
         return new ResponseEntity<>(branchService.createBranch(branchDTO), HttpStatus.CREATED);
     }
 
+    @GetMapping(
+        value = "/closed",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Get branches closed on a date",
+        description = "Retrieves every branch that has a holiday on the given date"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Branches retrieved successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = BranchSummaryDTO.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date format, or a date before the archive cutoff",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<List<BranchSummaryDTO>> getBranchesClosedOn(
+        @Parameter(
+            description = "Date to check (ISO format: YYYY-MM-DD)",
+            required = true,
+            example = "2024-01-01"
+        )
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(branchService.getBranchesClosedOn(date));
+    }
+
+    @GetMapping(
+        value = "/search",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Search branches",
+        description = "Retrieves one page of branches, without holidays, matching every filter given"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Branches retrieved successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = BranchSummaryDTO.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date format",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<List<BranchSummaryDTO>> searchBranches(
+        @ParameterObject BranchSearchDTO search,
+        @Parameter(
+            description = "Sort field (name, emailAddress, state, creationDate or lastModifiedDate), "
+                + "optionally followed by ,asc or ,desc",
+            example = "name,asc"
+        )
+        @RequestParam(required = false) String sort,
+        @Parameter(
+            description = "Page number, starting at 0",
+            example = "0"
+        )
+        @RequestParam(required = false) Integer page,
+        @Parameter(
+            description = "Maximum number of branches in the page (1-" + BranchService.MAX_PAGE_SIZE
+                + ", default " + BranchService.DEFAULT_PAGE_SIZE + ")",
+            example = "100"
+        )
+        @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(branchService.searchBranches(search, sort, page, limit));
+    }
+
     @GetMapping(
         value = "/{id}",
-        produces = MediaType.APPLICATION_JSON_VALUE
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Get branch by ID",
@@ -115,6 +283,11 @@ public class BranchController {
             description = "Branch not found with the given ID",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified since the version given in If-None-Match or If-Modified-Since",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
@@ -127,14 +300,57 @@ public class BranchController {
             required = true,
             example = "507f1f77bcf86cd799439011"
         )
+        @PathVariable String id,
+        WebRequest request
+    ) {
+        if (ConditionalRequests.notModified(request, branchService.getBranchVersion(id))) {
+            return null;
+        }
+        return ConditionalRequests.ok(branchService.getBranchById(id));
+    }
+
+    @GetMapping(
+        value = "/{id}/summary",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Get branch summary by ID",
+        description = "Retrieves the contact information of a specific branch without loading its holidays"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Branch found successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BranchSummaryDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Branch not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<BranchSummaryDTO> getBranchSummary(
+        @Parameter(
+            description = "Branch ID",
+            required = true,
+            example = "507f1f77bcf86cd799439011"
+        )
         @PathVariable String id
     ) {
-        return ResponseEntity.ok(branchService.getBranchById(id));
+        return ResponseEntity.ok(branchService.getBranchSummary(id));
     }
 
     @PatchMapping(
         value = "/{id}/phone",
-        produces = MediaType.APPLICATION_JSON_VALUE
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Update branch phone number",
@@ -159,6 +375,11 @@ public class BranchController {
             description = "Branch not found with the given ID",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The branch changed since the version given in If-Match",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
@@ -177,15 +398,21 @@ public class BranchController {
             required = true,
             example = "+593987654321"
         )
-        @RequestParam String phoneNumber
+        @RequestParam String phoneNumber,
+        @Parameter(
+            description = "Only apply the change if the branch is still at this version (its ETag)",
+            example = "\"3\""
+        )
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return ResponseEntity.ok(branchService.updateBranchPhone(id, phoneNumber));
+        return ConditionalRequests.ok(
+                branchService.updateBranchPhone(id, phoneNumber, ConditionalRequests.expectedVersion(ifMatch)));
     }
 
     @PostMapping(
         value = "/{id}/holidays",
-        consumes = MediaType.APPLICATION_JSON_VALUE,
-        produces = MediaType.APPLICATION_JSON_VALUE
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Add holidays to branch",
@@ -210,6 +437,11 @@ public class BranchController {
             description = "Branch not found with the given ID",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The branch changed since the version given in If-Match",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
@@ -228,18 +460,25 @@ public class BranchController {
             required = true,
             schema = @Schema(implementation = BranchHolidayDTO.class)
         )
-        @Valid @RequestBody List<BranchHolidayDTO> holidays
+        @Valid @RequestBody List<BranchHolidayDTO> holidays,
+        @Parameter(
+            description = "Only apply the change if the branch is still at this version (its ETag)",
+            example = "\"3\""
+        )
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return ResponseEntity.ok(branchService.addHolidays(id, holidays));
+        return ConditionalRequests.ok(
+                branchService.addHolidays(id, holidays, ConditionalRequests.expectedVersion(ifMatch)));
     }
 
     @DeleteMapping(
         value = "/{id}/holidays",
-        produces = MediaType.APPLICATION_JSON_VALUE
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Remove holidays from branch",
-        description = "Removes specified holidays from a branch by their dates"
+        description = "Removes specified holidays from a branch by their dates. Dates that only one of the "
+            + "branch's calendars provides cannot be removed from the branch and are rejected with 409."
     )
     @ApiResponses({
         @ApiResponse(
@@ -260,6 +499,16 @@ public class BranchController {
             description = "Branch not found with the given ID",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "A date is only a holiday through one of the branch's calendars",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The branch changed since the version given in If-Match",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
@@ -278,18 +527,83 @@ public class BranchController {
             required = true,
             example = "2024-01-01"
         )
-        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates,
+        @Parameter(
+            description = "Only apply the change if the branch is still at this version (its ETag)",
+            example = "\"3\""
+        )
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return ConditionalRequests.ok(
+                branchService.removeHolidays(id, dates, ConditionalRequests.expectedVersion(ifMatch)));
+    }
+
+    @PutMapping(
+        value = "/{id}/calendars",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Assign holiday calendars to branch",
+        description = "Replaces the holiday calendars a branch follows. The branch's own holidays are kept "
+            + "and win over the calendars on the same date."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Calendars assigned successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BranchDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Branch or calendar not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "The branch changed since the version given in If-Match",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<BranchDTO> assignCalendars(
+        @Parameter(
+            description = "Branch ID",
+            required = true,
+            example = "507f1f77bcf86cd799439011"
+        )
+        @PathVariable String id,
+        @Parameter(
+            description = "IDs of the calendars to follow; later calendars win on the same date",
+            required = true
+        )
+        @RequestBody List<String> calendarIds,
+        @Parameter(
+            description = "Only apply the change if the branch is still at this version (its ETag)",
+            example = "\"3\""
+        )
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return ResponseEntity.ok(branchService.removeHolidays(id, dates));
+        return ConditionalRequests.ok(
+                branchService.assignCalendars(id, calendarIds, ConditionalRequests.expectedVersion(ifMatch)));
     }
 
     @GetMapping(
         value = "/{id}/holidays",
-        produces = MediaType.APPLICATION_JSON_VALUE
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Get branch holidays",
-        description = "Retrieves all holidays for a specific branch"
+        description = "Retrieves the effective holidays of a specific branch, merged from its calendars and its own "
+            + "holidays, optionally limited to a year or a from/to date range. Past holidays moved to the archive "
+            + "are only included with includeArchived"
     )
     @ApiResponses({
         @ApiResponse(
@@ -300,11 +614,21 @@ public class BranchController {
                 array = @ArraySchema(schema = @Schema(implementation = BranchHolidayDTO.class))
             )
         ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Branch not found with the given ID",
             content = @Content
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Not modified since the version given in If-None-Match or If-Modified-Since",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
@@ -317,14 +641,38 @@ public class BranchController {
             required = true,
             example = "507f1f77bcf86cd799439011"
         )
-        @PathVariable String id
+        @PathVariable String id,
+        @Parameter(
+            description = "First date of the range, inclusive (ISO format: YYYY-MM-DD)",
+            example = "2024-01-01"
+        )
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(
+            description = "Last date of the range, inclusive (ISO format: YYYY-MM-DD)",
+            example = "2024-12-31"
+        )
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(
+            description = "Calendar year; cannot be combined with from/to",
+            example = "2024"
+        )
+        @RequestParam(required = false) Integer year,
+        @Parameter(
+            description = "Also return past holidays moved to the archive",
+            example = "false"
+        )
+        @RequestParam(defaultValue = "false") boolean includeArchived,
+        WebRequest request
     ) {
-        return ResponseEntity.ok(branchService.getBranchHolidays(id));
+        if (ConditionalRequests.notModified(request, branchService.getHolidaysVersion(id))) {
+            return null;
+        }
+        return ResponseEntity.ok(branchService.getBranchHolidays(id, from, to, year, includeArchived));
     }
 
     @GetMapping(
         value = "/{id}/holidays/check",
-        produces = MediaType.APPLICATION_JSON_VALUE
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
     )
     @Operation(
         summary = "Check if date is holiday",
@@ -341,7 +689,7 @@ public class BranchController {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Invalid date format",
+            description = "Invalid date format, or a date before the archive cutoff without includeArchived",
             content = @Content
         ),
         @ApiResponse(
@@ -367,8 +715,310 @@ public class BranchController {
             required = true,
             example = "2024-01-01"
         )
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @Parameter(
+            description = "Also check past holidays moved to the archive",
+            example = "false"
+        )
+        @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        return ResponseEntity.ok(branchService.isHoliday(id, date, includeArchived));
+    }
+
+    @PostMapping(
+        value = "/holidays/check",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Check holidays for many branches",
+        description = "Checks every date of a range for a set of branches in one call and returns a holiday bitmap per branch"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Check completed successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = HolidayCheckBatchResultDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid branch list or date range, or a range starting before the archive cutoff",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "One of the branches was not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<HolidayCheckBatchResultDTO> checkHolidays(
+        @Parameter(
+            description = "Branch IDs and date range to check",
+            required = true,
+            schema = @Schema(implementation = HolidayCheckBatchDTO.class)
+        )
+        @Valid @RequestBody HolidayCheckBatchDTO request
+    ) {
+        return ResponseEntity.ok(branchService.checkHolidays(request));
+    }
+
+    @GetMapping(
+        value = "/{id}/business-days/next",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Get next business day",
+        description = "Returns the first business day (Monday to Friday and not a holiday) strictly after the given date"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Next business day calculated successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = LocalDate.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date format, or a date before the archive cutoff",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Branch not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<LocalDate> nextBusinessDay(
+        @Parameter(
+            description = "Branch ID",
+            required = true,
+            example = "507f1f77bcf86cd799439011"
+        )
+        @PathVariable String id,
+        @Parameter(
+            description = "Start date (ISO format: YYYY-MM-DD)",
+            required = true,
+            example = "2024-12-24"
+        )
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
-        return ResponseEntity.ok(branchService.isHoliday(id, date));
+        return ResponseEntity.ok(branchService.nextBusinessDay(id, date));
+    }
+
+    @GetMapping(
+        value = "/{id}/business-days/add",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Add business days",
+        description = "Moves the given number of business days forwards, or backwards when negative, from a date"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Business days added successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = LocalDate.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date format or number of days, or a date or result before the archive cutoff",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Branch not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<LocalDate> addBusinessDays(
+        @Parameter(
+            description = "Branch ID",
+            required = true,
+            example = "507f1f77bcf86cd799439011"
+        )
+        @PathVariable String id,
+        @Parameter(
+            description = "Start date (ISO format: YYYY-MM-DD)",
+            required = true,
+            example = "2024-12-24"
+        )
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @Parameter(
+            description = "Business days to add, negative to go backwards (at most "
+                + BranchService.MAX_BUSINESS_DAYS + " either way)",
+            required = true,
+            example = "3"
+        )
+        @RequestParam int days
+    ) {
+        return ResponseEntity.ok(branchService.addBusinessDays(id, date, days));
+    }
+
+    @GetMapping(
+        value = "/{id}/business-days/count",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Count business days",
+        description = "Counts the business days between two dates, both inclusive"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Business days counted successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = Long.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date range, or a range starting before the archive cutoff",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Branch not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<Long> countBusinessDays(
+        @Parameter(
+            description = "Branch ID",
+            required = true,
+            example = "507f1f77bcf86cd799439011"
+        )
+        @PathVariable String id,
+        @Parameter(
+            description = "First date of the range, inclusive (ISO format: YYYY-MM-DD)",
+            required = true,
+            example = "2024-12-01"
+        )
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(
+            description = "Last date of the range, inclusive (ISO format: YYYY-MM-DD)",
+            required = true,
+            example = "2024-12-31"
+        )
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(branchService.countBusinessDays(id, from, to));
+    }
+
+    @PostMapping(
+        value = "/business-days",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Resolve business days in batch",
+        description = "Answers many next, add and count business-day calculations over any branches in one call. "
+            + "Results are returned in the order of the queries"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Calculations completed successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = BusinessDayResultDTO.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid query, or a date or result before the archive cutoff",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "One of the branches was not found",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<List<BusinessDayResultDTO>> resolveBusinessDays(
+        @Parameter(
+            description = "Business-day calculations to perform",
+            required = true,
+            schema = @Schema(implementation = BusinessDayBatchDTO.class)
+        )
+        @Valid @RequestBody BusinessDayBatchDTO batch
+    ) {
+        return ResponseEntity.ok(branchService.resolveBusinessDays(batch));
+    }
+
+    @PostMapping(
+        value = "/holidays/rollout",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Roll out holidays to many branches",
+        description = "Adds a set of holidays to every branch matching the filter (all branches, a list of IDs "
+            + "or a state) in one unordered bulk write with one multi-document update per holiday. Holidays a "
+            + "branch already has are not added again. The matched and modified counts are per branch and "
+            + "holiday pair, not per branch"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rollout completed; the counts are branch and holiday pairs",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = HolidayRolloutResultDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid holiday data",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<HolidayRolloutResultDTO> rolloutHolidays(
+        @Parameter(
+            description = "Branch filter and holidays to add",
+            required = true,
+            schema = @Schema(implementation = HolidayRolloutDTO.class)
+        )
+        @Valid @RequestBody HolidayRolloutDTO rollout
+    ) {
+        return ResponseEntity.ok(branchService.rolloutHolidays(rollout));
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
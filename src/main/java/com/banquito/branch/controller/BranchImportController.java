@@ -0,0 +1,133 @@
+package com.banquito.branch.controller;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.dto.BranchImportResultDTO;
+import com.banquito.branch.service.BranchImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/branches/import")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Branch Import", description = "APIs for onboarding many branches at once")
+public class BranchImportController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final BranchImportService branchImportService;
+
+    @PostMapping(
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Import branches from a JSON array",
+        description = "Validates and inserts every branch of the array. Invalid rows and duplicate "
+            + "email addresses are reported per row without aborting the import."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import completed, see the failures for rejected rows",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BranchImportResultDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<BranchImportResultDTO> importJson(
+        @Parameter(
+            description = "Branches to import",
+            required = true,
+            array = @ArraySchema(schema = @Schema(implementation = BranchDTO.class))
+        )
+        @RequestBody List<BranchDTO> branches
+    ) {
+        return ResponseEntity.ok(branchImportService.importBranches(branches));
+    }
+
+    @PostMapping(
+        consumes = MediaType.APPLICATION_NDJSON_VALUE,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Import branches from NDJSON",
+        description = "Streams one branch per line and inserts them in batches. Malformed or invalid "
+            + "lines and duplicate email addresses are reported per row."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import completed, see the failures for rejected rows",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BranchImportResultDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<BranchImportResultDTO> importNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(branchImportService.importNdjson(body));
+    }
+
+    @PostMapping(
+        consumes = TEXT_CSV_VALUE,
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Import branches from CSV",
+        description = "Streams a CSV file with a header row containing emailAddress, name, phoneNumber "
+            + "and state, and inserts the branches in batches. Rejected rows are reported per row."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import completed, see the failures for rejected rows",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = BranchImportResultDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "CSV header is missing a required column",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<BranchImportResultDTO> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(branchImportService.importCsv(body));
+    }
+}
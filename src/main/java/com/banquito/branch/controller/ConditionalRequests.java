@@ -0,0 +1,71 @@
+package com.banquito.branch.controller;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.exception.PreconditionFailedException;
+import com.banquito.branch.service.ResourceVersion;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+
+/**
+ * Helpers for conditional requests on branches. Entity tags are the branch
+ * version, followed by the versions of its calendars for holiday lists, for
+ * example {@code "7"} or {@code "7.2.5"}.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Evaluates {@code If-None-Match} and {@code If-Modified-Since} against
+     * {@code version}. When this returns true the response is already a 304 and
+     * the handler should return null.
+     */
+    static boolean notModified(WebRequest request, ResourceVersion version) {
+        return request.checkNotModified(version.eTag(), version.lastModifiedMillis());
+    }
+
+    /**
+     * Reactive variant of {@link #notModified(WebRequest, ResourceVersion)}.
+     * When this returns true the handler should complete empty.
+     */
+    static boolean notModified(ServerWebExchange exchange, ResourceVersion version) {
+        Instant lastModified = version.lastModified() == null ? Instant.MIN : version.lastModified();
+        return exchange.checkNotModified(version.eTag(), lastModified);
+    }
+
+    static ResponseEntity<BranchDTO> ok(BranchDTO branch) {
+        ResourceVersion version = ResourceVersion.of(branch.getVersion(), branch.getLastModifiedDate());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(version.eTag());
+        if (version.lastModified() != null) {
+            response.lastModified(version.lastModified());
+        }
+        return response.body(branch);
+    }
+
+    /**
+     * Returns the branch version required by an {@code If-Match} header, or
+     * null when there is no precondition. Only the branch part of a holiday
+     * list tag is compared, since mutations only touch the branch's own
+     * holidays.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match must be a single strong entity tag");
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int calendars = value.indexOf('.');
+        try {
+            return Long.parseLong(calendars < 0 ? value : value.substring(0, calendars));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Unknown entity tag: " + tag);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.banquito.branch.controller;
+
+import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.HolidayCalendarDTO;
+import com.banquito.branch.service.HolidayCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/calendars")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Holiday Calendars", description = "APIs for managing holiday calendars shared by branches")
+public class HolidayCalendarController {
+
+    private final HolidayCalendarService calendarService;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    @Operation(
+        summary = "Get all holiday calendars",
+        description = "Retrieves every holiday calendar with its holidays"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Calendars retrieved successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = HolidayCalendarDTO.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<List<HolidayCalendarDTO>> getAllCalendars() {
+        return ResponseEntity.ok(calendarService.getAllCalendars());
+    }
+
+    @PostMapping(
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Create a holiday calendar",
+        description = "Creates a national, regional or branch-specific holiday calendar. Code must be unique."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "201",
+            description = "Calendar created successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = HolidayCalendarDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input data or code already exists",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<HolidayCalendarDTO> createCalendar(
+        @Parameter(
+            description = "Calendar details for creation",
+            required = true,
+            schema = @Schema(implementation = HolidayCalendarDTO.class)
+        )
+        @Valid @RequestBody HolidayCalendarDTO calendarDTO
+    ) {
+        return new ResponseEntity<>(calendarService.createCalendar(calendarDTO), HttpStatus.CREATED);
+    }
+
+    @GetMapping(
+        value = "/{id}",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Get holiday calendar by ID",
+        description = "Retrieves a specific holiday calendar with its holidays"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Calendar found successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = HolidayCalendarDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Calendar not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<HolidayCalendarDTO> getCalendarById(
+        @Parameter(
+            description = "Calendar ID",
+            required = true,
+            example = "65a1f0c2e4b0a1b2c3d4e5f6"
+        )
+        @PathVariable String id
+    ) {
+        return ResponseEntity.ok(calendarService.getCalendarById(id));
+    }
+
+    @PostMapping(
+        value = "/{id}/holidays",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Add holidays to calendar",
+        description = "Adds holidays to a calendar; a holiday on a date the calendar already has replaces it. "
+            + "Every branch following the calendar sees the change."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Holidays added successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = HolidayCalendarDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid holiday data",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Calendar not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<HolidayCalendarDTO> addHolidays(
+        @Parameter(
+            description = "Calendar ID",
+            required = true,
+            example = "65a1f0c2e4b0a1b2c3d4e5f6"
+        )
+        @PathVariable String id,
+        @Parameter(
+            description = "List of holidays to add",
+            required = true,
+            schema = @Schema(implementation = BranchHolidayDTO.class)
+        )
+        @Valid @RequestBody List<BranchHolidayDTO> holidays
+    ) {
+        return ResponseEntity.ok(calendarService.addHolidays(id, holidays));
+    }
+
+    @DeleteMapping(
+        value = "/{id}/holidays",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @Operation(
+        summary = "Remove holidays from calendar",
+        description = "Removes holidays from a calendar by their dates"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Holidays removed successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = HolidayCalendarDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid date format",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Calendar not found with the given ID",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal server error",
+            content = @Content
+        )
+    })
+    public ResponseEntity<HolidayCalendarDTO> removeHolidays(
+        @Parameter(
+            description = "Calendar ID",
+            required = true,
+            example = "65a1f0c2e4b0a1b2c3d4e5f6"
+        )
+        @PathVariable String id,
+        @Parameter(
+            description = "List of holiday dates to remove (ISO format: YYYY-MM-DD)",
+            required = true,
+            example = "2024-01-01"
+        )
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates
+    ) {
+        return ResponseEntity.ok(calendarService.removeHolidays(id, dates));
+    }
+}
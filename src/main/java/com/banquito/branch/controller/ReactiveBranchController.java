@@ -0,0 +1,260 @@
+package com.banquito.branch.controller;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.dto.BranchSummaryDTO;
+import com.banquito.branch.dto.BusinessDayBatchDTO;
+import com.banquito.branch.dto.BusinessDayResultDTO;
+import com.banquito.branch.dto.HolidayCheckBatchDTO;
+import com.banquito.branch.dto.HolidayCheckBatchResultDTO;
+import com.banquito.branch.dto.HolidayRolloutDTO;
+import com.banquito.branch.dto.HolidayRolloutResultDTO;
+import com.banquito.branch.service.BranchService;
+import com.banquito.branch.service.ReactiveBranchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * WebFlux version of {@link BranchController} with the same
+ * {@code /api/v1/branches} contract, including entity tags and
+ * {@code If-Match} preconditions. Active only when the application runs as a
+ * reactive web application (the {@code reactive} profile). Holiday calendars
+ * and the CSV import are served by the servlet application only.
+ */
+@RestController
+@RequestMapping("/api/v1/branches")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBranchController {
+
+    private final ReactiveBranchService branchService;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<List<BranchDTO>>> getAllBranches(
+        @RequestParam(required = false) String after,
+        @RequestParam(required = false) Integer limit
+    ) {
+        int size = limit == null ? BranchService.DEFAULT_PAGE_SIZE : limit;
+        return branchService.getBranchPage(after, limit).collectList().map(page -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.size() == size) {
+                response.header(BranchController.NEXT_CURSOR_HEADER, page.get(page.size() - 1).getId());
+            }
+            return response.body(page);
+        });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BranchDTO> streamAllBranches() {
+        return branchService.getAllBranches();
+    }
+
+    @PostMapping(
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BranchDTO> createBranch(@Valid @RequestBody BranchDTO branchDTO) {
+        return branchService.createBranch(branchDTO);
+    }
+
+    @GetMapping(
+        value = "/closed",
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Flux<BranchSummaryDTO> getBranchesClosedOn(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return branchService.getBranchesClosedOn(date);
+    }
+
+    @GetMapping(
+        value = "/search",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<List<BranchSummaryDTO>> searchBranches(
+        BranchSearchDTO search,
+        @RequestParam(required = false) String sort,
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Integer limit
+    ) {
+        return branchService.searchBranches(search, sort, page, limit).collectList();
+    }
+
+    @GetMapping(
+        value = "/{id}",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<ResponseEntity<BranchDTO>> getBranchById(@PathVariable String id, ServerWebExchange exchange) {
+        return branchService.getBranchVersion(id).flatMap(version -> ConditionalRequests.notModified(exchange, version)
+                ? Mono.empty()
+                : branchService.getBranchById(id).map(ConditionalRequests::ok));
+    }
+
+    @GetMapping(
+        value = "/{id}/summary",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<BranchSummaryDTO> getBranchSummary(@PathVariable String id) {
+        return branchService.getBranchSummary(id);
+    }
+
+    @PatchMapping(
+        value = "/{id}/phone",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<ResponseEntity<BranchDTO>> updateBranchPhone(
+        @PathVariable String id,
+        @RequestParam String phoneNumber,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return branchService.updateBranchPhone(id, phoneNumber, ConditionalRequests.expectedVersion(ifMatch))
+                .map(ConditionalRequests::ok);
+    }
+
+    @PostMapping(
+        value = "/{id}/holidays",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<ResponseEntity<BranchDTO>> addHolidays(
+        @PathVariable String id,
+        @Valid @RequestBody List<BranchHolidayDTO> holidays,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return branchService.addHolidays(id, holidays, ConditionalRequests.expectedVersion(ifMatch))
+                .map(ConditionalRequests::ok);
+    }
+
+    @DeleteMapping(
+        value = "/{id}/holidays",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<ResponseEntity<BranchDTO>> removeHolidays(
+        @PathVariable String id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return branchService.removeHolidays(id, dates, ConditionalRequests.expectedVersion(ifMatch))
+                .map(ConditionalRequests::ok);
+    }
+
+    @PutMapping(
+        value = "/{id}/calendars",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<ResponseEntity<BranchDTO>> assignCalendars(
+        @PathVariable String id,
+        @RequestBody List<String> calendarIds,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return branchService.assignCalendars(id, calendarIds, ConditionalRequests.expectedVersion(ifMatch))
+                .map(ConditionalRequests::ok);
+    }
+
+    @GetMapping(
+        value = "/{id}/holidays",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<ResponseEntity<List<BranchHolidayDTO>>> getBranchHolidays(
+        @PathVariable String id,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) Integer year,
+        @RequestParam(defaultValue = "false") boolean includeArchived,
+        ServerWebExchange exchange
+    ) {
+        return branchService.getHolidaysVersion(id).flatMap(version -> ConditionalRequests.notModified(exchange, version)
+                ? Mono.empty()
+                : branchService.getBranchHolidays(id, from, to, year, includeArchived).map(ResponseEntity::ok));
+    }
+
+    @GetMapping(
+        value = "/{id}/holidays/check",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<Boolean> isHoliday(
+        @PathVariable String id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @RequestParam(defaultValue = "false") boolean includeArchived
+    ) {
+        return branchService.isHoliday(id, date, includeArchived);
+    }
+
+    @PostMapping(
+        value = "/holidays/check",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<HolidayCheckBatchResultDTO> checkHolidays(@Valid @RequestBody HolidayCheckBatchDTO request) {
+        return branchService.checkHolidays(request);
+    }
+
+    @GetMapping(
+        value = "/{id}/business-days/next",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<LocalDate> nextBusinessDay(
+        @PathVariable String id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return branchService.nextBusinessDay(id, date);
+    }
+
+    @GetMapping(
+        value = "/{id}/business-days/add",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<LocalDate> addBusinessDays(
+        @PathVariable String id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        @RequestParam int days
+    ) {
+        return branchService.addBusinessDays(id, date, days);
+    }
+
+    @GetMapping(
+        value = "/{id}/business-days/count",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<Long> countBusinessDays(
+        @PathVariable String id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return branchService.countBusinessDays(id, from, to);
+    }
+
+    @PostMapping(
+        value = "/business-days",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<List<BusinessDayResultDTO>> resolveBusinessDays(@Valid @RequestBody BusinessDayBatchDTO batch) {
+        return branchService.resolveBusinessDays(batch);
+    }
+
+    @PostMapping(
+        value = "/holidays/rollout",
+        consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE}
+    )
+    public Mono<HolidayRolloutResultDTO> rolloutHolidays(@Valid @RequestBody HolidayRolloutDTO rollout) {
+        return branchService.rolloutHolidays(rollout);
+    }
+}
@@ -1,18 +1,21 @@
 package com.banquito.branch.dto;
 
+import com.banquito.branch.cache.Versioned;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Data
 @Schema(description = "Branch Information")
-public class BranchDTO {
+public class BranchDTO implements Serializable, Versioned {
     
     @Schema(description = "Branch ID", example = "507f1f77bcf86cd799439011")
     private String id;
@@ -40,7 +43,15 @@ public class BranchDTO {
     
     @Schema(description = "Branch last modified date")
     private LocalDateTime lastModifiedDate;
+
+    @Schema(description = "Document version, also sent as the ETag", accessMode = Schema.AccessMode.READ_ONLY,
+            example = "3")
+    private Long version;
     
-    @Schema(description = "Branch holidays")
+    @Valid
+    @Schema(description = "Holidays specific to this branch; shared holidays come from the referenced calendars")
     private List<BranchHolidayDTO> branchHolidays = new ArrayList<>();
+
+    @Schema(description = "IDs of the holiday calendars this branch follows", example = "[\"65a1f0c2e4b0a1b2c3d4e5f6\"]")
+    private List<String> calendarIds = new ArrayList<>();
 } 
\ No newline at end of file
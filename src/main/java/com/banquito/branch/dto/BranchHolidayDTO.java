@@ -5,11 +5,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 @Data
 @Schema(description = "Branch Holiday Information")
-public class BranchHolidayDTO {
+public class BranchHolidayDTO implements Serializable {
     
     @NotNull(message = "Holiday date is required")
     @Schema(description = "Holiday date", example = "2024-01-01")
@@ -0,0 +1,22 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A rejected import row")
+public class BranchImportFailureDTO {
+
+    @Schema(description = "Row number in the request, starting at 1", example = "42")
+    private int row;
+
+    @Schema(description = "Email address of the rejected branch, when known", example = "branch@banquito.com")
+    private String emailAddress;
+
+    @Schema(description = "Why the row was rejected", example = "Branch with this email already exists")
+    private String reason;
+}
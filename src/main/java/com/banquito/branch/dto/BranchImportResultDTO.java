@@ -0,0 +1,21 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Outcome of a bulk branch import")
+public class BranchImportResultDTO {
+
+    @Schema(description = "Number of rows read from the request", example = "3000")
+    private int received;
+
+    @Schema(description = "Number of branches inserted", example = "2998")
+    private int inserted;
+
+    @Schema(description = "Rows that were rejected, with the reason")
+    private List<BranchImportFailureDTO> failures = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "Branch search filters; every filter given must match")
+public class BranchSearchDTO {
+
+    @Schema(description = "Branch state", example = "ACTIVE")
+    private String state;
+
+    @Schema(description = "Name prefix, case sensitive", example = "Quito")
+    private String name;
+
+    @Schema(description = "Words to match in the name with the text index", example = "norte")
+    private String text;
+
+    @Schema(description = "Exact email address", example = "branch@banquito.com")
+    private String emailAddress;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Only branches with no holiday, own or from a calendar, on this date", example = "2024-01-01")
+    private LocalDate openOn;
+}
@@ -0,0 +1,37 @@
+package com.banquito.branch.dto;
+
+import com.banquito.branch.cache.Versioned;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Schema(description = "Branch contact information without holidays")
+public class BranchSummaryDTO implements Serializable, Versioned {
+
+    @Schema(description = "Branch ID", example = "507f1f77bcf86cd799439011")
+    private String id;
+
+    @Schema(description = "Branch email address", example = "branch@banquito.com")
+    private String emailAddress;
+
+    @Schema(description = "Branch name", example = "Main Branch")
+    private String name;
+
+    @Schema(description = "Branch phone number", example = "+593987654321")
+    private String phoneNumber;
+
+    @Schema(description = "Branch state", example = "ACTIVE")
+    private String state;
+
+    @Schema(description = "Branch creation date")
+    private LocalDateTime creationDate;
+
+    @Schema(description = "Branch last modified date")
+    private LocalDateTime lastModifiedDate;
+
+    @Schema(description = "Document version", accessMode = Schema.AccessMode.READ_ONLY, example = "3")
+    private Long version;
+}
@@ -0,0 +1,19 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Business-day calculations over one or more branches")
+public class BusinessDayBatchDTO {
+
+    @NotEmpty(message = "At least one query is required")
+    @Size(max = 1000, message = "At most 1000 queries can be answered at once")
+    @Schema(description = "Calculations to perform")
+    private List<@Valid BusinessDayQueryDTO> queries;
+}
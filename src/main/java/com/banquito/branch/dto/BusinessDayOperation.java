@@ -0,0 +1,7 @@
+package com.banquito.branch.dto;
+
+public enum BusinessDayOperation {
+    NEXT,
+    ADD,
+    COUNT
+}
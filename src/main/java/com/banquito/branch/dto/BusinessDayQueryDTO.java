@@ -0,0 +1,52 @@
+package com.banquito.branch.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "One business-day calculation for a branch")
+public class BusinessDayQueryDTO {
+
+    @NotBlank(message = "Branch ID is required")
+    @Schema(description = "Branch ID", example = "507f1f77bcf86cd799439011")
+    private String branchId;
+
+    @NotNull(message = "Operation is required")
+    @Schema(description = "NEXT business day after the date, ADD business days to the date or COUNT business days "
+        + "from the date to another date", example = "ADD")
+    private BusinessDayOperation operation;
+
+    @NotNull(message = "Date is required")
+    @Schema(description = "Start date", example = "2024-12-24")
+    private LocalDate date;
+
+    @Schema(description = "Business days to add, negative to go backwards; required for ADD", example = "3")
+    private Integer days;
+
+    @Schema(description = "Last date of the range (inclusive); required for COUNT", example = "2024-12-31")
+    private LocalDate to;
+
+    @JsonIgnore
+    @AssertTrue(message = "Days are required for ADD")
+    public boolean isDaysGivenForAdd() {
+        return operation != BusinessDayOperation.ADD || days != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "End date is required for COUNT")
+    public boolean isEndDateGivenForCount() {
+        return operation != BusinessDayOperation.COUNT || to != null;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "End date must not be before the start date")
+    public boolean isRangeOrdered() {
+        return to == null || date == null || !to.isBefore(date);
+    }
+}
@@ -0,0 +1,26 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Schema(description = "Answer to a business-day calculation, in the same position as its query")
+public class BusinessDayResultDTO {
+
+    @Schema(description = "Branch ID", example = "507f1f77bcf86cd799439011")
+    private String branchId;
+
+    @Schema(description = "Operation performed", example = "ADD")
+    private BusinessDayOperation operation;
+
+    @Schema(description = "Start date", example = "2024-12-24")
+    private LocalDate date;
+
+    @Schema(description = "Resulting business day for NEXT and ADD", example = "2024-12-27")
+    private LocalDate result;
+
+    @Schema(description = "Number of business days for COUNT, both ends inclusive", example = "4")
+    private Long count;
+}
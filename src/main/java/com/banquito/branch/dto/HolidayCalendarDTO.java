@@ -0,0 +1,43 @@
+package com.banquito.branch.dto;
+
+import com.banquito.branch.model.CalendarScope;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Holiday calendar shared by the branches that reference it")
+public class HolidayCalendarDTO implements Serializable {
+
+    @Schema(description = "Calendar ID", example = "65a1f0c2e4b0a1b2c3d4e5f6")
+    private String id;
+
+    @NotBlank(message = "Code is required")
+    @Schema(description = "Unique calendar code", example = "EC-NATIONAL")
+    private String code;
+
+    @NotBlank(message = "Name is required")
+    @Schema(description = "Calendar name", example = "Ecuador national holidays")
+    private String name;
+
+    @NotNull(message = "Scope is required")
+    @Schema(description = "Calendar scope", example = "NATIONAL")
+    private CalendarScope scope;
+
+    @Schema(description = "Calendar creation date")
+    private LocalDateTime creationDate;
+
+    @Schema(description = "Calendar last modified date")
+    private LocalDateTime lastModifiedDate;
+
+    @Valid
+    @Schema(description = "Calendar holidays")
+    private List<BranchHolidayDTO> holidays = new ArrayList<>();
+}
@@ -0,0 +1,28 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Schema(description = "Holiday check over several branches and a date range")
+public class HolidayCheckBatchDTO {
+
+    @NotEmpty(message = "At least one branch ID is required")
+    @Size(max = 1000, message = "At most 1000 branch IDs can be checked at once")
+    @Schema(description = "Branch IDs to check", example = "[\"507f1f77bcf86cd799439011\"]")
+    private List<String> branchIds;
+
+    @NotNull(message = "Start date is required")
+    @Schema(description = "First date of the range (inclusive)", example = "2024-01-01")
+    private LocalDate from;
+
+    @NotNull(message = "End date is required")
+    @Schema(description = "Last date of the range (inclusive)", example = "2024-12-31")
+    private LocalDate to;
+}
@@ -0,0 +1,24 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Schema(description = "Holiday bitmaps per branch over a date range")
+public class HolidayCheckBatchResultDTO {
+
+    @Schema(description = "First date of the range (inclusive)", example = "2024-01-01")
+    private LocalDate from;
+
+    @Schema(description = "Last date of the range (inclusive)", example = "2024-01-07")
+    private LocalDate to;
+
+    @Schema(
+        description = "Bitmap per branch ID. Character i is '1' when from + i days is a holiday, '0' otherwise",
+        example = "{\"507f1f77bcf86cd799439011\": \"1000000\"}"
+    )
+    private Map<String, String> holidays;
+}
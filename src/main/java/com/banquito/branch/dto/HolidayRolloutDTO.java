@@ -0,0 +1,24 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Schema(description = "Holiday calendar to apply to a set of branches")
+public class HolidayRolloutDTO {
+
+    @Schema(description = "Only apply to these branch IDs; all branches when empty", example = "[\"507f1f77bcf86cd799439011\"]")
+    private List<String> branchIds;
+
+    @Schema(description = "Only apply to branches in this state", example = "ACTIVE")
+    private String state;
+
+    @Valid
+    @NotEmpty(message = "At least one holiday is required")
+    @Schema(description = "Holidays to add")
+    private List<BranchHolidayDTO> holidays;
+}
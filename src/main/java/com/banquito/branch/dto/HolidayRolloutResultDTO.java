@@ -0,0 +1,20 @@
+package com.banquito.branch.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a holiday calendar rollout")
+public class HolidayRolloutResultDTO {
+
+    @Schema(description = "Branch and holiday pairs where the branch matched the filter and had no holiday on that date",
+            example = "120")
+    private long matched;
+
+    @Schema(description = "Branch and holiday pairs where the holiday was added", example = "120")
+    private long modified;
+}
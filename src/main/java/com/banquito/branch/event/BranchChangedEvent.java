@@ -0,0 +1,25 @@
+package com.banquito.branch.event;
+
+/**
+ * Published after a write to the {@code branches} collection. A null
+ * {@code branchId} means that any branch may have changed. {@code version} is
+ * the version the write left the branch at, or null when it is not known.
+ */
+public record BranchChangedEvent(String branchId, Long version) {
+
+    public BranchChangedEvent(String branchId) {
+        this(branchId, null);
+    }
+
+    public static BranchChangedEvent all() {
+        return new BranchChangedEvent(null);
+    }
+
+    public boolean isAll() {
+        return branchId == null;
+    }
+
+    public boolean isVersioned() {
+        return branchId != null && version != null;
+    }
+}
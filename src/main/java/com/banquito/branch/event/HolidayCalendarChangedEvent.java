@@ -0,0 +1,8 @@
+package com.banquito.branch.event;
+
+/**
+ * Published after a write to a holiday calendar, before the branches that
+ * reference it are marked as changed.
+ */
+public record HolidayCalendarChangedEvent(String calendarId) {
+}
@@ -0,0 +1,16 @@
+package com.banquito.branch.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A date falls before the archive cutoff, where the holidays of a branch may
+ * have been moved out of the branch and the holiday index cannot answer.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ArchivedDateException extends RuntimeException {
+
+    public ArchivedDateException(String message) {
+        super(message);
+    }
+}
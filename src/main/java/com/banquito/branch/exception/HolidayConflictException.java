@@ -0,0 +1,16 @@
+package com.banquito.branch.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A holiday change cannot be applied to a branch as asked, for example
+ * removing a date that one of its calendars provides.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class HolidayConflictException extends RuntimeException {
+
+    public HolidayConflictException(String message) {
+        super(message);
+    }
+}
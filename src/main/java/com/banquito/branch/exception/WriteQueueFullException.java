@@ -0,0 +1,16 @@
+package com.banquito.branch.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The coalescing write queue stayed full for longer than the caller may wait,
+ * so the write was not accepted and can be retried later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class WriteQueueFullException extends RuntimeException {
+
+    public WriteQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.banquito.branch.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Audit trail of writes. Events go to the {@value #LOGGER} logger, which
+ * {@code logback-spring.xml} routes through an appender that never discards,
+ * and carry the full change as structured JSON fields. The details are left
+ * out of the formatted message so they are only serialized once, as JSON.
+ */
+@Slf4j(topic = AuditLog.LOGGER)
+@Component
+public class AuditLog {
+
+    public static final String LOGGER = "com.banquito.branch.audit";
+
+    public void record(String action, String id, Object details) {
+        log.info("{} {}", kv("action", action), kv("id", id), kv("details", details));
+    }
+}
@@ -0,0 +1,25 @@
+package com.banquito.branch.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Denies events at or above a level, the counterpart of logback's
+ * {@code ThresholdFilter}, so two appenders can split the events between
+ * them by level.
+ */
+public class BelowLevelFilter extends Filter<ILoggingEvent> {
+
+    private Level level = Level.WARN;
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.WARN);
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        return event.getLevel().isGreaterOrEqual(level) ? FilterReply.DENY : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,22 @@
+package com.banquito.branch.logging;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import net.logstash.logback.decorate.JsonFactoryDecorator;
+
+/**
+ * Writes dates in structured log arguments as ISO-8601 strings, the same way
+ * the API does, instead of as arrays or timestamps.
+ */
+public class IsoDateJsonFactoryDecorator implements JsonFactoryDecorator {
+
+    @Override
+    public JsonFactory decorate(JsonFactory factory) {
+        if (factory.getCodec() instanceof ObjectMapper objectMapper) {
+            objectMapper.findAndRegisterModules();
+            objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,80 @@
+package com.banquito.branch.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Puts a request ID in the MDC, so every log line written while handling a
+ * request can be correlated, and echoes it in the {@value #REQUEST_ID_HEADER}
+ * response header. One line per request is logged at DEBUG, or at INFO for a
+ * sampled fraction of requests set by
+ * {@code branch.logging.request-sample-rate}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final double sampleRate;
+
+    public RequestLoggingFilter(@Value("${branch.logging.request-sample-rate:0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = requestId(request);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+            if (sampled || log.isDebugEnabled()) {
+                long millis = (System.nanoTime() - start) / 1_000_000;
+                Object[] fields = {kv("method", request.getMethod()), kv("uri", request.getRequestURI()),
+                        kv("status", response.getStatus()), kv("durationMs", millis)};
+                if (sampled) {
+                    log.info("{} {} {} {}", fields);
+                } else {
+                    log.debug("{} {} {} {}", fields);
+                }
+            }
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > MAX_REQUEST_ID_LENGTH
+                || !requestId.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '-' || c == '_')) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        return requestId;
+    }
+}
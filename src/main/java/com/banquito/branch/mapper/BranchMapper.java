@@ -2,9 +2,11 @@ package com.banquito.branch.mapper;
 
 import com.banquito.branch.dto.BranchDTO;
 import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.BranchSummaryDTO;
 import com.banquito.branch.model.Branch;
 import com.banquito.branch.model.BranchHoliday;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
@@ -15,6 +17,9 @@ public interface BranchMapper {
     
     BranchDTO toDto(Branch branch);
     
+    BranchSummaryDTO toSummaryDto(Branch branch);
+    
+    @Mapping(target = "version", ignore = true)
     Branch toEntity(BranchDTO branchDTO);
     
     BranchHolidayDTO toDto(BranchHoliday branchHoliday);
@@ -23,5 +28,8 @@ public interface BranchMapper {
     
     List<BranchDTO> toDtoList(List<Branch> branches);
     
+    List<BranchHolidayDTO> toHolidayDtoList(List<BranchHoliday> holidays);
+    
+    @Mapping(target = "version", ignore = true)
     void updateBranchFromDto(BranchDTO branchDTO, @MappingTarget Branch branch);
 } 
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.banquito.branch.mapper;
+
+import com.banquito.branch.dto.HolidayCalendarDTO;
+import com.banquito.branch.model.HolidayCalendar;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring", uses = BranchMapper.class)
+public interface HolidayCalendarMapper {
+
+    HolidayCalendarDTO toDto(HolidayCalendar calendar);
+
+    @Mapping(target = "version", ignore = true)
+    HolidayCalendar toEntity(HolidayCalendarDTO calendarDTO);
+
+    List<HolidayCalendarDTO> toDtoList(List<HolidayCalendar> calendars);
+}
@@ -0,0 +1,65 @@
+package com.banquito.branch.metrics;
+
+import com.banquito.branch.model.Branch;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.springframework.data.mongodb.core.mapping.event.AfterConvertCallback;
+import org.springframework.data.mongodb.core.mapping.event.ReactiveAfterConvertCallback;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Records the size of the {@code branchHolidays} array of every branch read
+ * from MongoDB. Reads that project the array away are not recorded, so the
+ * summary reflects the documents that were actually transferred.
+ */
+@Component
+public class BranchHolidaysSizeRecorder implements AfterConvertCallback<Branch> {
+
+    private final DistributionSummary holidaysSize;
+
+    public BranchHolidaysSizeRecorder(MeterRegistry meterRegistry) {
+        this.holidaysSize = DistributionSummary.builder("branch.holidays.size")
+                .description("Number of entries in the branchHolidays array of branches read from MongoDB")
+                .baseUnit("holidays")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Branch onAfterConvert(Branch branch, Document document, String collection) {
+        record(document);
+        return branch;
+    }
+
+    void record(Document document) {
+        if (document.get("branchHolidays") instanceof List<?> holidays) {
+            holidaysSize.record(holidays.size());
+        }
+    }
+
+    /**
+     * The same recording for branches read through the reactive repositories.
+     */
+    @Component
+    static class Reactive implements ReactiveAfterConvertCallback<Branch> {
+
+        private final BranchHolidaysSizeRecorder recorder;
+
+        Reactive(BranchHolidaysSizeRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Publisher<Branch> onAfterConvert(Branch branch, Document document, String collection) {
+            recorder.record(document);
+            return Mono.just(branch);
+        }
+    }
+}
@@ -4,8 +4,11 @@ import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,6 +16,7 @@ import java.util.List;
 
 @Data
 @Document(collection = "branches")
+@CompoundIndex(name = "state_name", def = "{ 'state': 1, 'name': 1 }")
 public class Branch {
     @Id
     private String id;
@@ -20,7 +24,10 @@ public class Branch {
     @Indexed(unique = true)
     private String emailAddress;
     
+    @Indexed
+    @TextIndexed
     private String name;
+
     private String phoneNumber;
     private String state;
     
@@ -29,6 +36,12 @@ public class Branch {
     
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    @Version
+    private Long version;
     
     private List<BranchHoliday> branchHolidays = new ArrayList<>();
+
+    @Indexed
+    private List<String> calendarIds = new ArrayList<>();
 } 
\ No newline at end of file
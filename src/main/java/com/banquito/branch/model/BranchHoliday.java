@@ -1,10 +1,13 @@
 package com.banquito.branch.model;
 
 import lombok.Data;
+import org.springframework.data.mongodb.core.index.Indexed;
+
 import java.time.LocalDate;
 
 @Data
 public class BranchHoliday {
+    @Indexed
     private LocalDate date;
     private String name;
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.banquito.branch.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The holidays of one branch in one past year, moved out of the branch
+ * document by the archival job. The ID is {@code branchId:year}. The version
+ * goes up on every change, so the job only writes over what it read.
+ */
+@Data
+@Document(collection = "branch_holiday_archive")
+@CompoundIndex(name = "branch_year", def = "{ 'branchId': 1, 'year': 1 }")
+public class BranchHolidayArchive {
+    @Id
+    private String id;
+
+    private String branchId;
+    private int year;
+
+    private LocalDateTime lastModifiedDate;
+
+    @Version
+    private Long version;
+
+    private List<BranchHoliday> holidays = new ArrayList<>();
+
+    public static String id(String branchId, int year) {
+        return branchId + ":" + year;
+    }
+}
@@ -0,0 +1,7 @@
+package com.banquito.branch.model;
+
+public enum CalendarScope {
+    NATIONAL,
+    REGIONAL,
+    BRANCH
+}
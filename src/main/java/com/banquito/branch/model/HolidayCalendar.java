@@ -0,0 +1,41 @@
+package com.banquito.branch.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of holidays shared by every branch that references it, such as the
+ * national calendar, a regional calendar or the overrides of a single branch.
+ */
+@Data
+@Document(collection = "holiday_calendars")
+public class HolidayCalendar {
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String code;
+
+    private String name;
+    private CalendarScope scope;
+
+    @CreatedDate
+    private LocalDateTime creationDate;
+
+    @LastModifiedDate
+    private LocalDateTime lastModifiedDate;
+
+    @Version
+    private Long version;
+
+    private List<BranchHoliday> holidays = new ArrayList<>();
+}
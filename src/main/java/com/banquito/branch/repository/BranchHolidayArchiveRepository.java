@@ -0,0 +1,19 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.model.BranchHolidayArchive;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BranchHolidayArchiveRepository extends MongoRepository<BranchHolidayArchive, String> {
+
+    @Query(value = "{ 'branchId': ?0, 'year': { $gte: ?1, $lte: ?2 } }", sort = "{ 'year': 1 }")
+    List<BranchHolidayArchive> findByBranchIdAndYearRange(String branchId, int fromYear, int toYear);
+
+    @Query(value = "{ '_id': ?0, 'holidays.date': ?1 }", exists = true)
+    boolean existsHoliday(String id, LocalDate date);
+}
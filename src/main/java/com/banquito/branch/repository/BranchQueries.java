@@ -0,0 +1,249 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import org.bson.Document;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Queries and updates shared by the blocking and reactive branch repository
+ * fragments. The holiday array updates also serve the calendar fragment.
+ */
+final class BranchQueries {
+
+    static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
+
+    private BranchQueries() {
+    }
+
+    static Query byId(String id) {
+        return Query.query(Criteria.where("id").is(id));
+    }
+
+    /**
+     * Matches a branch at {@code expectedVersion}, or any version when it is
+     * null. Documents written without a version report it as 0 in their ETag,
+     * so version 0 also matches a missing version.
+     */
+    static Query byIdAndVersion(String id, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null && expectedVersion == 0L) {
+            criteria.and("version").in(0L, null);
+        } else if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return Query.query(criteria);
+    }
+
+    /**
+     * Builds the search query from the filters that are set. The name prefix is
+     * an anchored, escaped regular expression so it can use the name indexes;
+     * a text search without an explicit sort is ordered by relevance.
+     */
+    static Query search(BranchSearchDTO search, Collection<String> closedCalendarIds, Pageable pageable) {
+        Query query = new Query();
+        if (search.getText() != null) {
+            TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(search.getText()));
+            query = pageable.getSort().isSorted() ? textQuery : textQuery.sortByScore();
+        }
+        if (search.getState() != null) {
+            query.addCriteria(Criteria.where("state").is(search.getState()));
+        }
+        if (search.getName() != null) {
+            query.addCriteria(Criteria.where("name").regex("^" + escapeRegex(search.getName())));
+        }
+        if (search.getEmailAddress() != null) {
+            query.addCriteria(Criteria.where("emailAddress").is(search.getEmailAddress()));
+        }
+        if (search.getOpenOn() != null) {
+            query.addCriteria(Criteria.where("branchHolidays.date").ne(search.getOpenOn()));
+            if (!closedCalendarIds.isEmpty()) {
+                query.addCriteria(Criteria.where("calendarIds").nin(closedCalendarIds));
+            }
+        }
+        query.fields().include("emailAddress", "name", "phoneNumber", "state", "creationDate", "lastModifiedDate");
+        return query.with(pageable);
+    }
+
+    private static String escapeRegex(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c)) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    static Update setPhoneNumber(String phoneNumber) {
+        return versioned(new Update().set("phoneNumber", phoneNumber));
+    }
+
+    /**
+     * Replaces the stored holidays on the dates of {@code holidays} in place,
+     * one array filter per date. Array filters are sent as they are, so the
+     * dates go through {@code converter} to match the stored values in any
+     * time zone. Dates the branch does not have are left to
+     * {@link #pushSorted}.
+     */
+    static Update replaceHolidays(List<BranchHoliday> holidays, MongoConverter converter) {
+        return replaceHolidays("branchHolidays", holidays, converter);
+    }
+
+    /**
+     * {@link #replaceHolidays(List, MongoConverter)} on the holiday array
+     * {@code field} of any document.
+     */
+    static Update replaceHolidays(String field, List<BranchHoliday> holidays, MongoConverter converter) {
+        Update update = new Update();
+        for (int i = 0; i < holidays.size(); i++) {
+            String identifier = "holiday" + i;
+            update.set(field + ".$[" + identifier + "]", holidays.get(i))
+                    .filterArray(Criteria.where(identifier + ".date")
+                            .is(converter.convertToMongoType(holidays.get(i).getDate())));
+        }
+        return versioned(update);
+    }
+
+    /**
+     * Matches a branch at {@code expectedVersion} that has none of
+     * {@code dates} yet.
+     */
+    static Query withoutHolidays(String id, Long expectedVersion, Collection<LocalDate> dates) {
+        return withoutHolidays(byIdAndVersion(id, expectedVersion), "branchHolidays", dates);
+    }
+
+    static Query withoutHolidays(Query query, String field, Collection<LocalDate> dates) {
+        return query.addCriteria(Criteria.where(field + ".date").nin(dates));
+    }
+
+    static List<LocalDate> dates(Collection<BranchHoliday> holidays) {
+        return holidays.stream().map(BranchHoliday::getDate).toList();
+    }
+
+    /**
+     * Returns the holidays on dates {@code branch} does not have.
+     */
+    static List<BranchHoliday> missingFrom(Branch branch, List<BranchHoliday> holidays) {
+        return missingFrom(branch.getBranchHolidays(), holidays);
+    }
+
+    static List<BranchHoliday> missingFrom(List<BranchHoliday> stored, List<BranchHoliday> holidays) {
+        Set<LocalDate> dates = stored == null ? Set.of()
+                : stored.stream().map(BranchHoliday::getDate).collect(Collectors.toSet());
+        return holidays.stream().filter(holiday -> !dates.contains(holiday.getDate())).toList();
+    }
+
+    /**
+     * Matches the branches of a rollout that do not have a holiday on
+     * {@code date} yet.
+     */
+    static Query rolloutTargets(Collection<String> branchIds, String state, LocalDate date) {
+        return rollout(branchIds, state, Criteria.where("branchHolidays.date").ne(date));
+    }
+
+    /**
+     * Matches the branches of a rollout written at or after {@code since},
+     * reading only their versions.
+     */
+    static Query rolloutChanges(Collection<String> branchIds, String state, LocalDateTime since) {
+        Query query = rollout(branchIds, state, Criteria.where("lastModifiedDate").gte(since));
+        query.fields().include("version");
+        return query;
+    }
+
+    private static Query rollout(Collection<String> branchIds, String state, Criteria condition) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (branchIds != null && !branchIds.isEmpty()) {
+            criteria.add(Criteria.where("id").in(branchIds));
+        }
+        if (state != null) {
+            criteria.add(Criteria.where("state").is(state));
+        }
+        criteria.add(condition);
+        return Query.query(new Criteria().andOperator(criteria));
+    }
+
+    /**
+     * Matches the branches that reference a calendar, reading only their
+     * versions.
+     */
+    static Query byCalendarId(String calendarId) {
+        Query query = Query.query(Criteria.where("calendarIds").is(calendarId));
+        query.fields().include("version");
+        return query;
+    }
+
+    /**
+     * Inserts holidays at their positions by date, keeping the array sorted.
+     */
+    static Update pushSorted(Collection<BranchHoliday> holidays) {
+        return pushSorted("branchHolidays", holidays);
+    }
+
+    static Update pushSorted(String field, Collection<BranchHoliday> holidays) {
+        return versioned(new Update().push(field).sort(Sort.by("date")).each(holidays.toArray()));
+    }
+
+    static Update assignCalendars(List<String> calendarIds) {
+        return versioned(new Update().set("calendarIds", calendarIds));
+    }
+
+    static Update pullHolidays(Collection<LocalDate> dates) {
+        return versioned(new Update().pull("branchHolidays", Query.query(Criteria.where("date").in(dates))));
+    }
+
+    /**
+     * Auditing does not run for server-side updates, so the version and the
+     * last modified date are maintained explicitly.
+     */
+    /**
+     * Bumps the version without changing anything else, for changes that come
+     * from outside the document.
+     */
+    static Update touch() {
+        return versioned(new Update());
+    }
+
+    static Update versioned(Update update) {
+        return update.inc("version", 1).set("lastModifiedDate", LocalDateTime.now());
+    }
+
+    static Aggregation holidaysInRange(String id, LocalDate from, LocalDate to, MongoConverter converter) {
+        List<Document> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add(new Document("$gte", List.of("$$holiday.date", converter.convertToMongoType(from))));
+        }
+        if (to != null) {
+            conditions.add(new Document("$lte", List.of("$$holiday.date", converter.convertToMongoType(to))));
+        }
+        AggregationExpression filter = context -> new Document("$filter",
+                new Document("input", "$branchHolidays")
+                        .append("as", "holiday")
+                        .append("cond", new Document("$and", conditions)));
+
+        return Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("id").is(id)),
+                Aggregation.project("calendarIds").and(filter).as("branchHolidays"));
+    }
+}
@@ -1,10 +1,44 @@
 package com.banquito.branch.repository;
 
 import com.banquito.branch.model.Branch;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface BranchRepository extends MongoRepository<Branch, String> {
+public interface BranchRepository extends MongoRepository<Branch, String>, BranchRepositoryCustom {
     boolean existsByEmailAddress(String emailAddress);
-} 
\ No newline at end of file
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays.date': 1, 'calendarIds': 1, 'version': 1 }")
+    Optional<Branch> findHolidayDatesById(String id);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays': 1, 'calendarIds': 1, 'version': 1 }")
+    Optional<Branch> findHolidaysById(String id);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays': 0 }")
+    Optional<Branch> findSummaryById(String id);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'lastModifiedDate': 1, 'calendarIds': 1 }")
+    Optional<Branch> findVersionById(String id);
+
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'branchHolidays.date': 1, 'calendarIds': 1, 'version': 1 }")
+    List<Branch> findHolidayDatesByIdIn(Collection<String> ids);
+
+    @Query(value = "{ $or: [ { 'branchHolidays.date': ?0 }, { 'calendarIds': { $in: ?1 } } ] }",
+            fields = "{ 'branchHolidays': 0 }")
+    List<Branch> findSummariesByHolidayDate(LocalDate date, Collection<String> calendarIds);
+
+    List<Branch> findAllBy(Pageable pageable);
+
+    List<Branch> findByIdGreaterThan(ObjectId id, Pageable pageable);
+
+    Stream<Branch> streamAllBy();
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Atomic single round trip updates on a branch document. Every operation bumps
+ * the document version; when {@code expectedVersion} is not null the update is
+ * only applied if the stored version still matches.
+ */
+public interface BranchRepositoryCustom {
+
+    /**
+     * Returns the branch ID, its calendar IDs and only the holidays between
+     * {@code from} and {@code to} (both inclusive, either may be null),
+     * filtered server side.
+     */
+    Optional<Branch> findHolidaysInRange(String id, LocalDate from, LocalDate to);
+
+    /**
+     * Returns one page of branches without holidays matching every filter that
+     * is set. {@code closedCalendarIds} are the calendars with a holiday on
+     * {@code openOn}; branches that reference any of them are excluded.
+     */
+    List<Branch> search(BranchSearchDTO search, Collection<String> closedCalendarIds, Pageable pageable);
+
+    Optional<Branch> updatePhoneNumber(String id, String phoneNumber, Long expectedVersion);
+
+    /**
+     * Merges holidays into a branch without reading it first. When the branch
+     * has none of the dates yet, they are pushed at their sorted positions in
+     * one conditional update. Otherwise the stored holidays on those dates are
+     * replaced in place, and the dates still missing are pushed only if the
+     * branch does not have them by then. Every update is atomic and keeps the
+     * array sorted and unique by date, whatever runs concurrently.
+     * {@code expectedVersion} applies to the first update that changes the
+     * branch. Callers pass a list that is already sorted by date and unique per
+     * date.
+     */
+    Optional<Branch> mergeHolidays(String id, List<BranchHoliday> holidays, Long expectedVersion);
+
+    Optional<Branch> pullHolidays(String id, Collection<LocalDate> dates, Long expectedVersion);
+
+    Optional<Branch> assignCalendars(String id, List<String> calendarIds, Long expectedVersion);
+
+    /**
+     * Adds {@code holidays} to every branch matching the filter in a single
+     * bulk write with one {@code updateMany} per holiday. Each holiday is
+     * pushed at its sorted position and only to branches without a holiday on
+     * that date, so the arrays stay sorted and unique by date and repeated
+     * rollouts do not modify anything. A null or empty {@code branchIds} and a
+     * null {@code state} do not restrict the filter.
+     */
+    BulkWriteResult addHolidaysToBranches(Collection<String> branchIds, String state, List<BranchHoliday> holidays);
+
+    /**
+     * Streams the ID and version of the branches matching a rollout filter
+     * that were written at or after {@code since}. The caller must close the
+     * returned stream.
+     */
+    Stream<Branch> streamRolloutChanges(Collection<String> branchIds, String state, LocalDateTime since);
+
+    /**
+     * Bumps the version of every branch that references a calendar, since
+     * their effective holidays changed with it, and streams their IDs and new
+     * versions. The caller must close the returned stream.
+     */
+    Stream<Branch> touchByCalendarId(String calendarId);
+}
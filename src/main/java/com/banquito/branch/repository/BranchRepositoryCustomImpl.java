@@ -0,0 +1,106 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BranchRepositoryCustomImpl implements BranchRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Branch> findHolidaysInRange(String id, LocalDate from, LocalDate to) {
+        return Optional.ofNullable(mongoTemplate.aggregate(
+                BranchQueries.holidaysInRange(id, from, to, mongoTemplate.getConverter()),
+                Branch.class, Branch.class).getUniqueMappedResult());
+    }
+
+    @Override
+    public List<Branch> search(BranchSearchDTO search, Collection<String> closedCalendarIds, Pageable pageable) {
+        return mongoTemplate.find(BranchQueries.search(search, closedCalendarIds, pageable), Branch.class);
+    }
+
+    @Override
+    public Optional<Branch> updatePhoneNumber(String id, String phoneNumber, Long expectedVersion) {
+        return modify(id, expectedVersion, BranchQueries.setPhoneNumber(phoneNumber));
+    }
+
+    @Override
+    public Optional<Branch> mergeHolidays(String id, List<BranchHoliday> holidays, Long expectedVersion) {
+        Branch added = mongoTemplate.findAndModify(
+                BranchQueries.withoutHolidays(id, expectedVersion, BranchQueries.dates(holidays)),
+                BranchQueries.pushSorted(holidays), BranchQueries.RETURN_NEW, Branch.class);
+        if (added != null) {
+            return Optional.of(added);
+        }
+        Optional<Branch> replaced = modify(id, expectedVersion,
+                BranchQueries.replaceHolidays(holidays, mongoTemplate.getConverter()));
+        List<BranchHoliday> missing = replaced.map(branch -> BranchQueries.missingFrom(branch, holidays))
+                .orElse(List.of());
+        if (missing.isEmpty()) {
+            return replaced;
+        }
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                        BranchQueries.withoutHolidays(id, null, BranchQueries.dates(missing)),
+                        BranchQueries.pushSorted(missing), BranchQueries.RETURN_NEW, Branch.class))
+                .or(() -> Optional.ofNullable(mongoTemplate.findById(id, Branch.class)));
+    }
+
+    @Override
+    public Optional<Branch> pullHolidays(String id, Collection<LocalDate> dates, Long expectedVersion) {
+        return modify(id, expectedVersion, BranchQueries.pullHolidays(dates));
+    }
+
+    @Override
+    public Optional<Branch> assignCalendars(String id, List<String> calendarIds, Long expectedVersion) {
+        return modify(id, expectedVersion, BranchQueries.assignCalendars(calendarIds));
+    }
+
+    @Override
+    public BulkWriteResult addHolidaysToBranches(Collection<String> branchIds, String state,
+                                                 List<BranchHoliday> holidays) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Branch.class);
+        for (BranchHoliday holiday : holidays) {
+            operations.updateMulti(BranchQueries.rolloutTargets(branchIds, state, holiday.getDate()),
+                    BranchQueries.pushSorted(List.of(holiday)));
+        }
+        return operations.execute();
+    }
+
+    @Override
+    public Stream<Branch> streamRolloutChanges(Collection<String> branchIds, String state, LocalDateTime since) {
+        return mongoTemplate.stream(BranchQueries.rolloutChanges(branchIds, state, since), Branch.class);
+    }
+
+    @Override
+    public Stream<Branch> touchByCalendarId(String calendarId) {
+        mongoTemplate.updateMulti(BranchQueries.byCalendarId(calendarId), BranchQueries.touch(), Branch.class);
+        return mongoTemplate.stream(BranchQueries.byCalendarId(calendarId), Branch.class);
+    }
+
+    private Optional<Branch> modify(String id, Long expectedVersion, Update update) {
+        Branch branch = mongoTemplate.findAndModify(BranchQueries.byIdAndVersion(id, expectedVersion), update,
+                BranchQueries.RETURN_NEW, Branch.class);
+        if (branch == null && expectedVersion != null
+                && mongoTemplate.exists(BranchQueries.byId(id), Branch.class)) {
+            throw new OptimisticLockingFailureException(
+                    "Branch with id " + id + " was modified by another request");
+        }
+        return Optional.ofNullable(branch);
+    }
+}
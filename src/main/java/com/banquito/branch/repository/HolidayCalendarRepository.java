@@ -0,0 +1,11 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.model.HolidayCalendar;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HolidayCalendarRepository extends MongoRepository<HolidayCalendar, String>,
+        HolidayCalendarRepositoryCustom {
+    boolean existsByCode(String code);
+}
@@ -0,0 +1,27 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.model.HolidayCalendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Atomic updates on a calendar document that need no prior read. Every
+ * operation bumps the document version and returns the calendar as updated,
+ * or empty when it does not exist.
+ */
+public interface HolidayCalendarRepositoryCustom {
+
+    /**
+     * Merges holidays into a calendar the way
+     * {@link BranchRepositoryCustom#mergeHolidays} merges them into a branch,
+     * so concurrent merges neither conflict nor lose each other's holidays.
+     * Callers pass a list that is already sorted by date and unique per date.
+     */
+    Optional<HolidayCalendar> mergeHolidays(String id, List<BranchHoliday> holidays);
+
+    Optional<HolidayCalendar> pullHolidays(String id, Collection<LocalDate> dates);
+}
@@ -0,0 +1,53 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.model.HolidayCalendar;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class HolidayCalendarRepositoryCustomImpl implements HolidayCalendarRepositoryCustom {
+
+    private static final String HOLIDAYS = "holidays";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<HolidayCalendar> mergeHolidays(String id, List<BranchHoliday> holidays) {
+        HolidayCalendar added = modify(BranchQueries.withoutHolidays(BranchQueries.byId(id), HOLIDAYS,
+                BranchQueries.dates(holidays)), BranchQueries.pushSorted(HOLIDAYS, holidays));
+        if (added != null) {
+            return Optional.of(added);
+        }
+        HolidayCalendar replaced = modify(BranchQueries.byId(id),
+                BranchQueries.replaceHolidays(HOLIDAYS, holidays, mongoTemplate.getConverter()));
+        if (replaced == null) {
+            return Optional.empty();
+        }
+        List<BranchHoliday> missing = BranchQueries.missingFrom(replaced.getHolidays(), holidays);
+        if (missing.isEmpty()) {
+            return Optional.of(replaced);
+        }
+        return Optional.ofNullable(modify(BranchQueries.withoutHolidays(BranchQueries.byId(id), HOLIDAYS,
+                        BranchQueries.dates(missing)), BranchQueries.pushSorted(HOLIDAYS, missing)))
+                .or(() -> Optional.ofNullable(mongoTemplate.findById(id, HolidayCalendar.class)));
+    }
+
+    @Override
+    public Optional<HolidayCalendar> pullHolidays(String id, Collection<LocalDate> dates) {
+        return Optional.ofNullable(modify(BranchQueries.byId(id), BranchQueries.versioned(
+                new Update().pull(HOLIDAYS, Query.query(Criteria.where("date").in(dates))))));
+    }
+
+    private HolidayCalendar modify(Query query, Update update) {
+        return mongoTemplate.findAndModify(query, update, BranchQueries.RETURN_NEW, HolidayCalendar.class);
+    }
+}
@@ -0,0 +1,41 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.model.Branch;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+@Repository
+public interface ReactiveBranchRepository extends ReactiveMongoRepository<Branch, String>, ReactiveBranchRepositoryCustom {
+    Mono<Boolean> existsByEmailAddress(String emailAddress);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'version': 1, 'lastModifiedDate': 1, 'calendarIds': 1 }")
+    Mono<Branch> findVersionById(String id);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays.date': 1, 'calendarIds': 1, 'version': 1 }")
+    Mono<Branch> findHolidayDatesById(String id);
+
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'branchHolidays.date': 1, 'calendarIds': 1, 'version': 1 }")
+    Flux<Branch> findHolidayDatesByIdIn(Collection<String> ids);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays': 1, 'calendarIds': 1, 'version': 1 }")
+    Mono<Branch> findHolidaysById(String id);
+
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'branchHolidays': 0 }")
+    Mono<Branch> findSummaryById(String id);
+
+    @Query(value = "{ $or: [ { 'branchHolidays.date': ?0 }, { 'calendarIds': { $in: ?1 } } ] }",
+            fields = "{ 'branchHolidays': 0 }")
+    Flux<Branch> findSummariesByHolidayDate(LocalDate date, Collection<String> calendarIds);
+
+    Flux<Branch> findAllBy(Pageable pageable);
+
+    Flux<Branch> findByIdGreaterThan(ObjectId id, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link BranchRepositoryCustom}.
+ */
+public interface ReactiveBranchRepositoryCustom {
+
+    Mono<Branch> findHolidaysInRange(String id, LocalDate from, LocalDate to);
+
+    Flux<Branch> search(BranchSearchDTO search, Collection<String> closedCalendarIds, Pageable pageable);
+
+    Mono<Branch> updatePhoneNumber(String id, String phoneNumber, Long expectedVersion);
+
+    Mono<Branch> mergeHolidays(String id, List<BranchHoliday> holidays, Long expectedVersion);
+
+    Mono<Branch> pullHolidays(String id, Collection<LocalDate> dates, Long expectedVersion);
+
+    Mono<Branch> assignCalendars(String id, List<String> calendarIds, Long expectedVersion);
+
+    Mono<BulkWriteResult> addHolidaysToBranches(Collection<String> branchIds, String state,
+                                                List<BranchHoliday> holidays);
+
+    Flux<Branch> findRolloutChanges(Collection<String> branchIds, String state, LocalDateTime since);
+}
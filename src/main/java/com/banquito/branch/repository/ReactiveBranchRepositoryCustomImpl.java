@@ -0,0 +1,103 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReactiveBranchRepositoryCustomImpl implements ReactiveBranchRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Branch> findHolidaysInRange(String id, LocalDate from, LocalDate to) {
+        return mongoTemplate.aggregate(
+                BranchQueries.holidaysInRange(id, from, to, mongoTemplate.getConverter()),
+                Branch.class, Branch.class).singleOrEmpty();
+    }
+
+    @Override
+    public Flux<Branch> search(BranchSearchDTO search, Collection<String> closedCalendarIds, Pageable pageable) {
+        return mongoTemplate.find(BranchQueries.search(search, closedCalendarIds, pageable), Branch.class);
+    }
+
+    @Override
+    public Mono<Branch> updatePhoneNumber(String id, String phoneNumber, Long expectedVersion) {
+        return modify(id, expectedVersion, BranchQueries.setPhoneNumber(phoneNumber));
+    }
+
+    @Override
+    public Mono<Branch> mergeHolidays(String id, List<BranchHoliday> holidays, Long expectedVersion) {
+        return mongoTemplate.findAndModify(
+                        BranchQueries.withoutHolidays(id, expectedVersion, BranchQueries.dates(holidays)),
+                        BranchQueries.pushSorted(holidays), BranchQueries.RETURN_NEW, Branch.class)
+                .switchIfEmpty(Mono.defer(() -> modify(id, expectedVersion,
+                                BranchQueries.replaceHolidays(holidays, mongoTemplate.getConverter()))
+                        .flatMap(branch -> pushMissing(id, branch, holidays))));
+    }
+
+    private Mono<Branch> pushMissing(String id, Branch branch, List<BranchHoliday> holidays) {
+        List<BranchHoliday> missing = BranchQueries.missingFrom(branch, holidays);
+        if (missing.isEmpty()) {
+            return Mono.just(branch);
+        }
+        return mongoTemplate.findAndModify(
+                        BranchQueries.withoutHolidays(id, null, BranchQueries.dates(missing)),
+                        BranchQueries.pushSorted(missing), BranchQueries.RETURN_NEW, Branch.class)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findById(id, Branch.class)));
+    }
+
+    @Override
+    public Mono<Branch> pullHolidays(String id, Collection<LocalDate> dates, Long expectedVersion) {
+        return modify(id, expectedVersion, BranchQueries.pullHolidays(dates));
+    }
+
+    @Override
+    public Mono<Branch> assignCalendars(String id, List<String> calendarIds, Long expectedVersion) {
+        return modify(id, expectedVersion, BranchQueries.assignCalendars(calendarIds));
+    }
+
+    @Override
+    public Mono<BulkWriteResult> addHolidaysToBranches(Collection<String> branchIds, String state,
+                                                       List<BranchHoliday> holidays) {
+        ReactiveBulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Branch.class);
+        for (BranchHoliday holiday : holidays) {
+            operations.updateMulti(BranchQueries.rolloutTargets(branchIds, state, holiday.getDate()),
+                    BranchQueries.pushSorted(List.of(holiday)));
+        }
+        return operations.execute();
+    }
+
+    @Override
+    public Flux<Branch> findRolloutChanges(Collection<String> branchIds, String state, LocalDateTime since) {
+        return mongoTemplate.find(BranchQueries.rolloutChanges(branchIds, state, since), Branch.class);
+    }
+
+    private Mono<Branch> modify(String id, Long expectedVersion, Update update) {
+        Mono<Branch> conflict = expectedVersion == null
+                ? Mono.empty()
+                : mongoTemplate.exists(BranchQueries.byId(id), Branch.class)
+                        .flatMap(exists -> exists
+                                ? Mono.error(new OptimisticLockingFailureException(
+                                        "Branch with id " + id + " was modified by another request"))
+                                : Mono.empty());
+        return mongoTemplate.findAndModify(BranchQueries.byIdAndVersion(id, expectedVersion), update,
+                        BranchQueries.RETURN_NEW, Branch.class)
+                .switchIfEmpty(conflict);
+    }
+}
@@ -0,0 +1,262 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.config.MetricsConfig;
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.dto.BranchImportFailureDTO;
+import com.banquito.branch.dto.BranchImportResultDTO;
+import com.banquito.branch.logging.AuditLog;
+import com.banquito.branch.mapper.BranchMapper;
+import com.banquito.branch.model.Branch;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk branch onboarding. Rows are validated with the {@link BranchDTO}
+ * constraints and written in unordered batches; email uniqueness is enforced by
+ * the unique index, so duplicates are reported per row instead of being
+ * checked up front. Rows are inserted directly, bypassing the repository, so
+ * the version and audit dates a save would set are filled in here.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class BranchImportService {
+
+    static final List<String> CSV_COLUMNS = List.of("emailAddress", "name", "phoneNumber", "state");
+
+    private final MongoTemplate mongoTemplate;
+    private final BranchMapper branchMapper;
+    private final HolidayCalendarRegistry calendarRegistry;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AuditLog auditLog;
+    private final int batchSize;
+
+    public BranchImportService(MongoTemplate mongoTemplate,
+                               BranchMapper branchMapper,
+                               HolidayCalendarRegistry calendarRegistry,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               AuditLog auditLog,
+                               @Value("${branch.import.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.branchMapper = branchMapper;
+        this.calendarRegistry = calendarRegistry;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.auditLog = auditLog;
+        this.batchSize = batchSize;
+    }
+
+    public BranchImportResultDTO importBranches(List<BranchDTO> branches) {
+        log.debug("Importing {} branches", branches.size());
+        Batch batch = new Batch();
+        branches.forEach(batch::add);
+        return batch.finish();
+    }
+
+    public BranchImportResultDTO importNdjson(InputStream input) throws IOException {
+        log.debug("Importing branches from NDJSON");
+        Batch batch = new Batch();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, BranchDTO.class));
+                } catch (JsonProcessingException e) {
+                    batch.reject(null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    public BranchImportResultDTO importCsv(InputStream input) throws IOException {
+        log.debug("Importing branches from CSV");
+        Batch batch = new Batch();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return batch.finish();
+            }
+            List<String> columns = splitCsvLine(header);
+            int[] positions = CSV_COLUMNS.stream().mapToInt(columns::indexOf).toArray();
+            for (int i = 0; i < positions.length; i++) {
+                if (positions[i] < 0) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + CSV_COLUMNS.get(i));
+                }
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = splitCsvLine(line);
+                BranchDTO branch = new BranchDTO();
+                branch.setEmailAddress(column(values, positions[0]));
+                branch.setName(column(values, positions[1]));
+                branch.setPhoneNumber(column(values, positions[2]));
+                branch.setState(column(values, positions[3]));
+                batch.add(branch);
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Checks what the {@link BranchDTO} constraints cannot: every referenced
+     * calendar has to exist. Returns the reason to reject the row, or null when
+     * it is valid.
+     */
+    private String checkReferences(BranchDTO branchDTO) {
+        if (branchDTO.getCalendarIds() != null) {
+            List<String> unknown = branchDTO.getCalendarIds().stream()
+                    .filter(calendarId -> calendarId == null || !calendarRegistry.contains(calendarId))
+                    .map(String::valueOf)
+                    .distinct()
+                    .toList();
+            if (!unknown.isEmpty()) {
+                return "Holiday calendar not found with id: " + String.join(", ", unknown);
+            }
+        }
+        return null;
+    }
+
+    private static String column(List<String> values, int position) {
+        return position < values.size() ? values.get(position) : null;
+    }
+
+    /**
+     * Splits one CSV record. Fields may be wrapped in double quotes, with
+     * {@code ""} as an escaped quote; records spanning lines are not supported.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Accumulates validated rows and flushes them every {@code batchSize} rows.
+     */
+    private class Batch {
+
+        private final BranchImportResultDTO result = new BranchImportResultDTO();
+        private final List<Branch> branches = new ArrayList<>(batchSize);
+        private final List<Integer> rows = new ArrayList<>(batchSize);
+
+        void add(BranchDTO branchDTO) {
+            Set<ConstraintViolation<BranchDTO>> violations = validator.validate(branchDTO);
+            if (!violations.isEmpty()) {
+                reject(branchDTO.getEmailAddress(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            String invalidReference = checkReferences(branchDTO);
+            if (invalidReference != null) {
+                reject(branchDTO.getEmailAddress(), invalidReference);
+                return;
+            }
+            result.setReceived(result.getReceived() + 1);
+            Branch branch = branchMapper.toEntity(branchDTO);
+            LocalDateTime now = LocalDateTime.now();
+            branch.setId(null);
+            branch.setVersion(0L);
+            branch.setCreationDate(now);
+            branch.setLastModifiedDate(now);
+            branch.setBranchHolidays(HolidayLists.normalize(branch.getBranchHolidays()));
+            branches.add(branch);
+            rows.add(result.getReceived());
+            if (branches.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(String emailAddress, String reason) {
+            result.setReceived(result.getReceived() + 1);
+            result.getFailures().add(new BranchImportFailureDTO(result.getReceived(), emailAddress, reason));
+        }
+
+        BranchImportResultDTO finish() {
+            flush();
+            result.getFailures().sort(Comparator.comparingInt(BranchImportFailureDTO::getRow));
+            auditLog.record("branch.imported", null, result);
+            return result;
+        }
+
+        private void flush() {
+            if (branches.isEmpty()) {
+                return;
+            }
+            BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Branch.class);
+            operations.insert(branches);
+            int failed = 0;
+            try {
+                operations.execute();
+            } catch (BulkOperationException e) {
+                failed = e.getErrors().size();
+                for (BulkWriteError error : e.getErrors()) {
+                    Branch branch = branches.get(error.getIndex());
+                    String reason = ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY
+                            ? "Branch with email " + branch.getEmailAddress() + " already exists"
+                            : error.getMessage();
+                    result.getFailures().add(
+                            new BranchImportFailureDTO(rows.get(error.getIndex()), branch.getEmailAddress(), reason));
+                }
+            }
+            result.setInserted(result.getInserted() + branches.size() - failed);
+            branches.clear();
+            rows.clear();
+        }
+    }
+}
@@ -1,113 +1,528 @@
 package com.banquito.branch.service;
 
+import com.banquito.branch.cache.BranchCacheInvalidator;
+import com.banquito.branch.cache.VersionedList;
+import com.banquito.branch.config.CacheConfig;
+import com.banquito.branch.config.MetricsConfig;
 import com.banquito.branch.dto.BranchDTO;
 import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.dto.BranchSummaryDTO;
+import com.banquito.branch.dto.BusinessDayBatchDTO;
+import com.banquito.branch.dto.BusinessDayQueryDTO;
+import com.banquito.branch.dto.BusinessDayResultDTO;
+import com.banquito.branch.dto.HolidayCheckBatchDTO;
+import com.banquito.branch.dto.HolidayCheckBatchResultDTO;
+import com.banquito.branch.dto.HolidayRolloutDTO;
+import com.banquito.branch.dto.HolidayRolloutResultDTO;
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.exception.HolidayConflictException;
+import com.banquito.branch.exception.PreconditionFailedException;
+import com.banquito.branch.logging.AuditLog;
 import com.banquito.branch.mapper.BranchMapper;
 import com.banquito.branch.model.Branch;
 import com.banquito.branch.model.BranchHoliday;
 import com.banquito.branch.repository.BranchRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 @RequiredArgsConstructor
 public class BranchService {
 
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_CHECK_DAYS = 366;
+    public static final int MAX_BUSINESS_DAYS = 10000;
+    public static final List<String> SEARCH_SORT_FIELDS =
+            List.of("name", "emailAddress", "state", "creationDate", "lastModifiedDate");
+
     private final BranchRepository branchRepository;
     private final BranchMapper branchMapper;
+    private final HolidayIndex holidayIndex;
+    private final HolidayCalendarRegistry calendarRegistry;
+    private final HolidayArchiveService archiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+    private final BranchCacheInvalidator cacheInvalidator;
+    private final ObjectProvider<BranchWriteCoalescer> writeCoalescer;
 
     @Transactional(readOnly = true)
     public List<BranchDTO> getAllBranches() {
-        log.info("Getting all branches");
+        log.debug("Getting all branches");
         List<Branch> branches = branchRepository.findAll();
-        log.info("Found {} branches", branches.size());
         return branchMapper.toDtoList(branches);
     }
 
+    @Transactional(readOnly = true)
+    public List<BranchDTO> getBranchPage(String after, Integer limit) {
+        int size = pageSize(limit);
+        log.debug("Getting branch page after: {} with size: {}", after, size);
+        Pageable pageable = PageRequest.of(0, size, Sort.by("id"));
+        List<Branch> branches = after == null
+                ? branchRepository.findAllBy(pageable)
+                : branchRepository.findByIdGreaterThan(cursor(after), pageable);
+        return branchMapper.toDtoList(branches);
+    }
+
+    /**
+     * Returns one page of branch summaries matching the filters. Without an
+     * explicit sort, text searches are ordered by relevance and all others by
+     * ID; an explicit sort is {@code field} or {@code field,desc}.
+     */
+    @Transactional(readOnly = true)
+    public List<BranchSummaryDTO> searchBranches(BranchSearchDTO search, String sort, Integer page, Integer limit) {
+        log.debug("Searching branches with {}", search);
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        Sort order = searchSort(sort);
+        if (order.isUnsorted() && search.getText() == null) {
+            order = Sort.by("id");
+        }
+        Pageable pageable = PageRequest.of(page == null ? 0 : page, pageSize(limit), order);
+        List<String> closedCalendarIds = search.getOpenOn() == null
+                ? List.of()
+                : calendarRegistry.getCalendarIdsClosedOn(search.getOpenOn());
+        return branchRepository.search(search, closedCalendarIds, pageable).stream()
+                .map(branchMapper::toSummaryDto)
+                .toList();
+    }
+
+    /**
+     * Streams every branch from a MongoDB cursor. The caller must close the
+     * returned stream to release the cursor.
+     */
+    public Stream<BranchDTO> streamAllBranches() {
+        log.debug("Streaming all branches");
+        return branchRepository.streamAllBy().map(branchMapper::toDto);
+    }
+
     @Transactional
     public BranchDTO createBranch(BranchDTO branchDTO) {
-        log.info("Creating new branch with email: {}", branchDTO.getEmailAddress());
+        log.debug("Creating new branch with email: {}", branchDTO.getEmailAddress());
         if (branchRepository.existsByEmailAddress(branchDTO.getEmailAddress())) {
             throw new IllegalArgumentException("Branch with email " + branchDTO.getEmailAddress() + " already exists");
         }
+        calendarRegistry.getDates(branchDTO.getCalendarIds());
         Branch branch = branchMapper.toEntity(branchDTO);
+        branch.setBranchHolidays(HolidayLists.normalize(branch.getBranchHolidays()));
         branch = branchRepository.save(branch);
-        log.info("Branch created successfully with id: {}", branch.getId());
-        return branchMapper.toDto(branch);
+        holidayIndex.put(branch);
+        eventPublisher.publishEvent(new BranchChangedEvent(branch.getId(), branch.getVersion()));
+        BranchDTO created = cacheWritten(branch);
+        auditLog.record("branch.created", branch.getId(), created);
+        return created;
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.BRANCHES)
     public BranchDTO getBranchById(String id) {
-        log.info("Getting branch with id: {}", id);
+        log.debug("Getting branch with id: {}", id);
         Branch branch = branchRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
-        log.info("Branch found successfully");
         return branchMapper.toDto(branch);
     }
 
-    @Transactional
-    public BranchDTO updateBranchPhone(String id, String phoneNumber) {
-        log.info("Updating phone number for branch with id: {}", id);
-        Branch branch = branchRepository.findById(id)
+    /**
+     * Returns the version of a branch with a lookup that reads only the
+     * version fields, to answer conditional requests without the holidays.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getBranchVersion(String id) {
+        Branch branch = findVersion(id);
+        return ResourceVersion.of(branch.getVersion(), branch.getLastModifiedDate());
+    }
+
+    /**
+     * Returns the version of the effective holidays of a branch, which also
+     * change when one of its calendars changes.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getHolidaysVersion(String id) {
+        Branch branch = findVersion(id);
+        return calendarRegistry.withCalendars(
+                ResourceVersion.of(branch.getVersion(), branch.getLastModifiedDate()), branch.getCalendarIds());
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.BRANCH_SUMMARIES)
+    public BranchSummaryDTO getBranchSummary(String id) {
+        log.debug("Getting summary of branch with id: {}", id);
+        Branch branch = branchRepository.findSummaryById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
-        branch.setPhoneNumber(phoneNumber);
-        branch = branchRepository.save(branch);
-        log.info("Branch phone number updated successfully");
-        return branchMapper.toDto(branch);
+        return branchMapper.toSummaryDto(branch);
     }
 
     @Transactional
-    public BranchDTO addHolidays(String id, List<BranchHolidayDTO> holidays) {
-        log.info("Adding holidays to branch with id: {}", id);
-        Branch branch = branchRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
-        
-        List<BranchHoliday> newHolidays = holidays.stream()
+    public BranchDTO updateBranchPhone(String id, String phoneNumber, Long expectedVersion) {
+        log.debug("Updating phone number for branch with id: {}", id);
+        Branch branch = write(id, expectedVersion,
+                coalescer -> coalescer.setPhoneNumber(id, phoneNumber),
+                () -> branchRepository.updatePhoneNumber(id, phoneNumber, expectedVersion));
+        eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+        auditLog.record("branch.phone-updated", id, Map.of("phoneNumber", phoneNumber, "version", branch.getVersion()));
+        return cacheWritten(branch);
+    }
+
+    /**
+     * Merges holidays into a branch. A holiday on a date the branch already has
+     * replaces the stored one, so the holidays stay sorted and unique by date.
+     */
+    @Transactional
+    public BranchDTO addHolidays(String id, List<BranchHolidayDTO> holidays, Long expectedVersion) {
+        log.debug("Adding holidays to branch with id: {}", id);
+        List<BranchHoliday> newHolidays = HolidayLists.normalize(holidays.stream()
                 .map(branchMapper::toEntity)
-                .toList();
+                .toList());
         
-        branch.getBranchHolidays().addAll(newHolidays);
-        branch = branchRepository.save(branch);
-        log.info("Holidays added successfully");
-        return branchMapper.toDto(branch);
+        Branch branch = write(id, expectedVersion,
+                coalescer -> coalescer.addHolidays(id, newHolidays),
+                () -> branchRepository.mergeHolidays(id, newHolidays, expectedVersion));
+        holidayIndex.put(branch);
+        eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+        auditLog.record("branch.holidays-added", id, Map.of("holidays", holidays, "version", branch.getVersion()));
+        return cacheWritten(branch);
     }
 
+    /**
+     * Removes holidays of the branch itself. A date that only one of its
+     * calendars provides would still be a holiday afterwards, so the request
+     * is rejected with a conflict instead.
+     */
     @Transactional
-    public BranchDTO removeHolidays(String id, List<LocalDate> holidayDates) {
-        log.info("Removing holidays from branch with id: {}", id);
-        Branch branch = branchRepository.findById(id)
+    public BranchDTO removeHolidays(String id, List<LocalDate> holidayDates, Long expectedVersion) {
+        log.debug("Removing holidays from branch with id: {}", id);
+        Branch current = branchRepository.findHolidayDatesById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
+        rejectCalendarOnlyDates(current, holidayDates, calendarRegistry);
+        Branch branch = write(id, expectedVersion,
+                coalescer -> coalescer.removeHolidays(id, holidayDates),
+                () -> branchRepository.pullHolidays(id, holidayDates, expectedVersion));
+        archiveService.removeArchivedHolidays(id, holidayDates);
+        holidayIndex.put(branch);
+        eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+        auditLog.record("branch.holidays-removed", id, Map.of("dates", holidayDates, "version", branch.getVersion()));
+        return cacheWritten(branch);
+    }
+
+    /**
+     * Points a branch at a new list of holiday calendars. The branch's own
+     * holidays are kept, also on dates the calendars cover, where they win
+     * over the calendar's holiday.
+     */
+    @Transactional
+    public BranchDTO assignCalendars(String id, List<String> calendarIds, Long expectedVersion) {
+        log.debug("Assigning calendars {} to branch with id: {}", calendarIds, id);
+        List<String> distinctIds = calendarIds.stream().distinct().toList();
+        calendarRegistry.getDates(distinctIds);
+        Branch branch = requireVersion(id, expectedVersion,
+                () -> branchRepository.assignCalendars(id, distinctIds, expectedVersion));
+        holidayIndex.put(branch);
+        eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+        auditLog.record("branch.calendars-assigned", id, Map.of("calendarIds", distinctIds,
+                "version", branch.getVersion()));
+        return cacheWritten(branch);
+    }
+
+    @Transactional
+    public HolidayRolloutResultDTO rolloutHolidays(HolidayRolloutDTO rollout) {
+        log.debug("Rolling out {} holidays to branches {} with state {}",
+                rollout.getHolidays().size(), rollout.getBranchIds(), rollout.getState());
+        List<BranchHoliday> holidays = HolidayLists.normalize(rollout.getHolidays().stream()
+                .map(branchMapper::toEntity)
+                .toList());
         
-        branch.getBranchHolidays().removeIf(holiday -> holidayDates.contains(holiday.getDate()));
-        branch = branchRepository.save(branch);
-        log.info("Holidays removed successfully");
-        return branchMapper.toDto(branch);
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        BulkWriteResult result = branchRepository.addHolidaysToBranches(rollout.getBranchIds(), rollout.getState(), holidays);
+        if (result.getModifiedCount() > 0) {
+            try (Stream<Branch> changed = branchRepository.streamRolloutChanges(
+                    rollout.getBranchIds(), rollout.getState(), since)) {
+                changed.forEach(this::fence);
+            }
+        }
+        HolidayRolloutResultDTO rolloutResult =
+                new HolidayRolloutResultDTO(result.getMatchedCount(), result.getModifiedCount());
+        auditLog.record("branch.holidays-rolled-out", null, Map.of("rollout", rollout, "result", rolloutResult));
+        return rolloutResult;
     }
 
     @Transactional(readOnly = true)
     public List<BranchHolidayDTO> getBranchHolidays(String id) {
-        log.info("Getting holidays for branch with id: {}", id);
-        Branch branch = branchRepository.findById(id)
+        log.debug("Getting holidays for branch with id: {}", id);
+        Branch branch = branchRepository.findHolidaysById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
         
-        return branch.getBranchHolidays().stream()
-                .map(branchMapper::toDto)
-                .toList();
+        return toHolidayDtos(branch);
     }
 
+    /**
+     * Returns the effective holidays of a branch in a range. Holidays moved to
+     * the archive are only included when {@code includeArchived} is set.
+     */
     @Transactional(readOnly = true)
-    public boolean isHoliday(String id, LocalDate date) {
-        log.info("Checking if date {} is holiday for branch with id: {}", date, id);
-        Branch branch = branchRepository.findById(id)
+    @Cacheable(cacheNames = CacheConfig.BRANCH_HOLIDAYS, key = "#id",
+            condition = "#from == null && #to == null && #year == null && !#includeArchived")
+    public List<BranchHolidayDTO> getBranchHolidays(String id, LocalDate from, LocalDate to, Integer year,
+                                                    boolean includeArchived) {
+        DateRange range = DateRange.of(from, to, year);
+        if (range.isUnbounded() && !includeArchived) {
+            return getBranchHolidays(id);
+        }
+        log.debug("Getting holidays from {} to {} for branch with id: {}", range.from(), range.to(), id);
+        Branch branch = (range.isUnbounded()
+                ? branchRepository.findHolidaysById(id)
+                : branchRepository.findHolidaysInRange(id, range.from(), range.to()))
                 .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
+        List<BranchHoliday> ownHolidays = branch.getBranchHolidays();
+        if (includeArchived) {
+            ownHolidays = HolidayLists.merge(
+                    archiveService.getArchivedHolidays(id, range.from(), range.to()), ownHolidays);
+        }
         
-        return branch.getBranchHolidays().stream()
-                .anyMatch(holiday -> holiday.getDate().equals(date));
+        return branchMapper.toHolidayDtoList(calendarRegistry.resolve(
+                ownHolidays, branch.getCalendarIds(), range.from(), range.to()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BranchSummaryDTO> getBranchesClosedOn(LocalDate date) {
+        log.debug("Getting branches closed on {}", date);
+        archiveService.requireUnarchived(date);
+        return branchRepository.findSummariesByHolidayDate(date, calendarRegistry.getCalendarIdsClosedOn(date)).stream()
+                .map(branchMapper::toSummaryDto)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isHoliday(String id, LocalDate date, boolean includeArchived) {
+        log.debug("Checking if date {} is holiday for branch with id: {}", date, id);
+        if (includeArchived) {
+            return holidayIndex.isHoliday(id, date) || archiveService.isArchivedHoliday(id, date);
+        }
+        archiveService.requireUnarchived(date);
+        return holidayIndex.isHoliday(id, date);
+    }
+
+    @Transactional(readOnly = true)
+    public HolidayCheckBatchResultDTO checkHolidays(HolidayCheckBatchDTO request) {
+        log.debug("Checking holidays from {} to {} for {} branches",
+                request.getFrom(), request.getTo(), request.getBranchIds().size());
+        DateRange range = DateRange.bounded(request.getFrom(), request.getTo(), MAX_CHECK_DAYS);
+        archiveService.requireUnarchived(range.from());
+
+        holidayIndex.preload(request.getBranchIds());
+        Map<String, String> holidays = new LinkedHashMap<>();
+        for (String branchId : request.getBranchIds()) {
+            holidays.put(branchId, HolidayIndex.toBitmap(holidayIndex.getPreloaded(branchId).holidayDays(), range));
+        }
+        return toCheckResult(range, holidays);
+    }
+
+    @Transactional(readOnly = true)
+    public LocalDate nextBusinessDay(String id, LocalDate date) {
+        log.debug("Getting next business day after {} for branch with id: {}", date, id);
+        archiveService.requireUnarchived(date);
+        return holidayIndex.getBusinessCalendar(id).nextBusinessDay(date);
+    }
+
+    @Transactional(readOnly = true)
+    public LocalDate addBusinessDays(String id, LocalDate date, int days) {
+        log.debug("Adding {} business days to {} for branch with id: {}", days, date, id);
+        archiveService.requireUnarchived(date);
+        LocalDate result = holidayIndex.getBusinessCalendar(id).addBusinessDays(date, businessDays(days));
+        archiveService.requireUnarchived(result);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public long countBusinessDays(String id, LocalDate from, LocalDate to) {
+        log.debug("Counting business days from {} to {} for branch with id: {}", from, to, id);
+        archiveService.requireUnarchived(from, to);
+        return holidayIndex.getBusinessCalendar(id).countBusinessDays(from, to);
+    }
+
+    /**
+     * Answers every query against the holiday index after loading all the
+     * branches involved with a single query. Results keep the query order.
+     */
+    @Transactional(readOnly = true)
+    public List<BusinessDayResultDTO> resolveBusinessDays(BusinessDayBatchDTO batch) {
+        log.debug("Resolving {} business day queries", batch.getQueries().size());
+        holidayIndex.preload(batch.getQueries().stream().map(BusinessDayQueryDTO::getBranchId).toList());
+        return batch.getQueries().stream()
+                .map(query -> {
+                    archiveService.requireUnarchived(query.getDate(), query.getTo());
+                    BusinessDayResultDTO result =
+                            resolveBusinessDay(holidayIndex.getPreloaded(query.getBranchId()), query);
+                    archiveService.requireUnarchived(result.getResult());
+                    return result;
+                })
+                .toList();
+    }
+
+    private Branch findVersion(String id) {
+        return branchRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
+    }
+
+    /**
+     * Marks a branch changed by a bulk write at the version it was read back
+     * with, so reads of the older state are not cached or indexed.
+     */
+    private void fence(Branch branch) {
+        long version = branch.getVersion() == null ? 0L : branch.getVersion();
+        holidayIndex.fence(branch.getId(), version);
+        eventPublisher.publishEvent(new BranchChangedEvent(branch.getId(), version));
+    }
+
+    /**
+     * Caches what a write read back, once the change event has evicted the
+     * old entries, and returns it as a DTO.
+     */
+    private BranchDTO cacheWritten(Branch branch) {
+        BranchDTO written = branchMapper.toDto(branch);
+        cacheInvalidator.putWritten(branch.getId(), written, branchMapper.toSummaryDto(branch), toHolidayDtos(branch));
+        return written;
+    }
+
+    /**
+     * Resolves the effective holidays of a branch, tagged with its version so
+     * the cached list is only replaced by a newer one.
+     */
+    private List<BranchHolidayDTO> toHolidayDtos(Branch branch) {
+        return new VersionedList<>(branchMapper.toHolidayDtoList(
+                calendarRegistry.resolve(branch.getBranchHolidays(), branch.getCalendarIds(), null, null)),
+                branch.getVersion());
+    }
+
+    /**
+     * Sends a change without an expected version through the coalescing write
+     * pipeline when it is enabled, and runs it directly otherwise.
+     */
+    private Branch write(String id, Long expectedVersion, Function<BranchWriteCoalescer, Optional<Branch>> coalesced,
+                         Supplier<Optional<Branch>> direct) {
+        BranchWriteCoalescer coalescer = expectedVersion == null ? writeCoalescer.getIfAvailable() : null;
+        if (coalescer == null) {
+            return requireVersion(id, expectedVersion, direct);
+        }
+        return coalesced.apply(coalescer)
+                .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
+    }
+
+    /**
+     * Runs a conditional update, reporting a version mismatch as a failed
+     * precondition.
+     */
+    private static Branch requireVersion(String id, Long expectedVersion, Supplier<Optional<Branch>> update) {
+        try {
+            return update.get().orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + id));
+        } catch (OptimisticLockingFailureException e) {
+            throw new PreconditionFailedException(
+                    "Branch with id " + id + " is no longer at version " + expectedVersion);
+        }
+    }
+
+    static void rejectCalendarOnlyDates(Branch branch, Collection<LocalDate> dates,
+                                        HolidayCalendarRegistry calendarRegistry) {
+        List<LocalDate> calendarOnly = calendarRegistry.getCalendarOnlyDates(
+                branch.getBranchHolidays(), branch.getCalendarIds(), dates);
+        if (!calendarOnly.isEmpty()) {
+            throw new HolidayConflictException("Holidays on " + calendarOnly + " come from the calendars of branch "
+                    + branch.getId() + " and cannot be removed from the branch");
+        }
+    }
+
+    static BusinessDayResultDTO resolveBusinessDay(BusinessCalendar calendar, BusinessDayQueryDTO query) {
+        BusinessDayResultDTO result = new BusinessDayResultDTO();
+        result.setBranchId(query.getBranchId());
+        result.setOperation(query.getOperation());
+        result.setDate(query.getDate());
+        switch (query.getOperation()) {
+            case NEXT -> result.setResult(calendar.nextBusinessDay(query.getDate()));
+            case ADD -> {
+                if (query.getDays() == null) {
+                    throw new IllegalArgumentException("Days are required for ADD");
+                }
+                result.setResult(calendar.addBusinessDays(query.getDate(), businessDays(query.getDays())));
+            }
+            case COUNT -> {
+                if (query.getTo() == null) {
+                    throw new IllegalArgumentException("End date is required for COUNT");
+                }
+                result.setCount(calendar.countBusinessDays(query.getDate(), query.getTo()));
+            }
+        }
+        return result;
+    }
+
+    static int businessDays(int days) {
+        if (Math.abs(days) > MAX_BUSINESS_DAYS) {
+            throw new IllegalArgumentException("Business days must be between -" + MAX_BUSINESS_DAYS
+                    + " and " + MAX_BUSINESS_DAYS);
+        }
+        return days;
+    }
+
+    static HolidayCheckBatchResultDTO toCheckResult(DateRange range, Map<String, String> holidays) {
+        HolidayCheckBatchResultDTO result = new HolidayCheckBatchResultDTO();
+        result.setFrom(range.from());
+        result.setTo(range.to());
+        result.setHolidays(holidays);
+        return result;
+    }
+
+    static Sort searchSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (parts.length > 2 || !SEARCH_SORT_FIELDS.contains(field)) {
+            throw new IllegalArgumentException(
+                    "Sort must be one of " + SEARCH_SORT_FIELDS + ", optionally followed by ,asc or ,desc");
+        }
+        Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+        return Sort.by(direction, field).and(Sort.by("id"));
+    }
+
+    static int pageSize(Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    static ObjectId cursor(String after) {
+        if (!ObjectId.isValid(after)) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+        return new ObjectId(after);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
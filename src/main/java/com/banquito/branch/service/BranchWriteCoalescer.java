@@ -0,0 +1,290 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.exception.WriteQueueFullException;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind pipeline for phone and holiday changes made without
+ * {@code If-Match}. Callers put their change on a bounded queue and wait; a
+ * single writer thread collects the changes that arrive within a short window,
+ * folds them per branch in arrival order and writes the whole batch with one
+ * ordered bulk write. It then reads every touched branch back with a single
+ * {@code $in} query and completes each caller with its branch, so a response
+ * is only sent once the write has been acknowledged. When the queue stays
+ * full for longer than {@code offer-timeout} the caller gets a
+ * {@link WriteQueueFullException} instead of queueing without bound, and so
+ * does a caller whose write is not acknowledged within {@code write-timeout}.
+ * <p>
+ * The pipeline stops after the web server, so requests accepted during a
+ * graceful shutdown are still written.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "branch.write-coalescing", name = "enabled", havingValue = "true")
+public class BranchWriteCoalescer implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<Mutation> queue;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration offerTimeout;
+    private final Duration writeTimeout;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public BranchWriteCoalescer(MongoTemplate mongoTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${branch.write-coalescing.window:5ms}") Duration window,
+                                @Value("${branch.write-coalescing.max-batch-size:500}") int maxBatchSize,
+                                @Value("${branch.write-coalescing.queue-capacity:10000}") int queueCapacity,
+                                @Value("${branch.write-coalescing.offer-timeout:100ms}") Duration offerTimeout,
+                                @Value("${branch.write-coalescing.write-timeout:5s}") Duration writeTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeout = offerTimeout;
+        this.writeTimeout = writeTimeout;
+        this.batchSizes = DistributionSummary.builder("branch.write.batch.size")
+                .description("Branch changes written per coalesced bulk write")
+                .register(meterRegistry);
+        Gauge.builder("branch.write.queue.size", queue, BlockingQueue::size)
+                .description("Branch changes waiting for the coalescing writer")
+                .register(meterRegistry);
+    }
+
+    public Optional<Branch> setPhoneNumber(String branchId, String phoneNumber) {
+        return submit(new Mutation(branchId, pending -> pending.phoneNumber = phoneNumber));
+    }
+
+    public Optional<Branch> addHolidays(String branchId, List<BranchHoliday> holidays) {
+        return submit(new Mutation(branchId, pending -> holidays.forEach(pending::add)));
+    }
+
+    public Optional<Branch> removeHolidays(String branchId, Collection<LocalDate> dates) {
+        return submit(new Mutation(branchId, pending -> dates.forEach(pending::remove)));
+    }
+
+    private Optional<Branch> submit(Mutation mutation) {
+        if (!running) {
+            throw new IllegalStateException("Branch write pipeline is not running");
+        }
+        try {
+            if (!queue.offer(mutation, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new WriteQueueFullException("Too many pending branch writes, try again later");
+            }
+            if (!running && queue.remove(mutation)) {
+                throw new IllegalStateException("Branch write pipeline is not running");
+            }
+            return mutation.result.get(writeTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a branch write", e);
+        } catch (TimeoutException e) {
+            throw new WriteQueueFullException("Branch write did not complete within " + writeTimeout
+                    + ", it may still be applied");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Branch write failed", e.getCause());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        writer = new Thread(this::run, "branch-write-coalescer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        failPending();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void run() {
+        List<Mutation> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Mutation first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + window.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    Mutation next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                log.warn("Branch write pipeline interrupted, writing what is queued");
+                queue.drainTo(batch);
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        failPending();
+    }
+
+    /**
+     * Fails the changes that were queued after the writer took its last batch,
+     * so their callers do not wait for a writer that has stopped.
+     */
+    private void failPending() {
+        List<Mutation> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        leftovers.forEach(mutation -> mutation.result.completeExceptionally(
+                new IllegalStateException("Branch write pipeline stopped before the write was applied")));
+    }
+
+    private void flush(List<Mutation> batch) {
+        batchSizes.record(batch.size());
+        Map<String, Pending> byBranch = new LinkedHashMap<>();
+        for (Mutation mutation : batch) {
+            mutation.change.apply(byBranch.computeIfAbsent(mutation.branchId, branchId -> new Pending()));
+        }
+        try {
+            write(byBranch);
+            Map<String, Branch> written = mongoTemplate.find(
+                            Query.query(Criteria.where("id").in(byBranch.keySet())), Branch.class).stream()
+                    .collect(Collectors.toMap(Branch::getId, Function.identity()));
+            log.debug("Wrote {} changes to {} branches in one batch", batch.size(), byBranch.size());
+            batch.forEach(mutation -> mutation.result.complete(Optional.ofNullable(written.get(mutation.branchId))));
+        } catch (RuntimeException e) {
+            log.error("Coalesced write of {} branch changes failed", batch.size(), e);
+            batch.forEach(mutation -> mutation.result.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Writes each branch with at most two updates: one that sets the phone
+     * number and pulls every touched holiday date, and one that pushes the
+     * added holidays at their sorted position. The bulk write is ordered so
+     * the pull runs before the push, and both bump the version so a
+     * version-checked writer that read the branch in between does not match.
+     */
+    private void write(Map<String, Pending> byBranch) {
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Branch.class);
+        byBranch.forEach((branchId, pending) -> {
+            Query byId = Query.query(Criteria.where("id").is(branchId));
+            Update update = new Update().inc("version", 1).set("lastModifiedDate", now);
+            if (pending.phoneNumber != null) {
+                update.set("phoneNumber", pending.phoneNumber);
+            }
+            Set<LocalDate> touched = new HashSet<>(pending.removed);
+            touched.addAll(pending.added.keySet());
+            if (!touched.isEmpty()) {
+                update.pull("branchHolidays", Query.query(Criteria.where("date").in(touched)));
+            }
+            operations.updateOne(byId, update);
+            if (!pending.added.isEmpty()) {
+                operations.updateOne(byId, new Update()
+                        .push("branchHolidays").sort(Sort.by("date")).each(pending.added.values().toArray())
+                        .inc("version", 1)
+                        .set("lastModifiedDate", now));
+            }
+        });
+        operations.execute();
+    }
+
+    private record Mutation(String branchId, Change change, CompletableFuture<Optional<Branch>> result) {
+
+        Mutation(String branchId, Change change) {
+            this(branchId, change, new CompletableFuture<>());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Change {
+        void apply(Pending pending);
+    }
+
+    /**
+     * The net effect of the changes to one branch in a batch; a later change
+     * to the same date wins.
+     */
+    private static final class Pending {
+
+        private String phoneNumber;
+        private final Map<LocalDate, BranchHoliday> added = new TreeMap<>();
+        private final Set<LocalDate> removed = new HashSet<>();
+
+        void add(BranchHoliday holiday) {
+            removed.remove(holiday.getDate());
+            added.put(holiday.getDate(), holiday);
+        }
+
+        void remove(LocalDate date) {
+            added.remove(date);
+            removed.add(date);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.banquito.branch.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Precompiled holiday calendar of one branch. Business days are Monday to
+ * Friday minus holidays. The cumulative number of business days up to any epoch
+ * day is the closed-form weekday count minus the position of that day in the
+ * sorted array of weekday holidays. Every operation is therefore a few binary
+ * searches, independent of the distance between the dates.
+ */
+public final class BusinessCalendar {
+
+    static final BusinessCalendar EMPTY = new BusinessCalendar(HolidayIndex.NO_HOLIDAYS);
+
+    /** Epoch day of Monday 1969-12-29, the origin of the weekday count. */
+    private static final long MONDAY_ORIGIN = -3;
+
+    private final int[] holidayDays;
+    private final int[] weekdayHolidays;
+
+    BusinessCalendar(int[] holidayDays) {
+        this.holidayDays = holidayDays;
+        this.weekdayHolidays = Arrays.stream(holidayDays)
+                .filter(BusinessCalendar::isWeekday)
+                .toArray();
+    }
+
+    /**
+     * Sorted, distinct epoch days of every holiday of the branch.
+     */
+    public int[] holidayDays() {
+        return holidayDays;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return Arrays.binarySearch(holidayDays, (int) date.toEpochDay()) >= 0;
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        long day = date.toEpochDay();
+        return businessDaysUpTo(day) - businessDaysUpTo(day - 1) == 1;
+    }
+
+    /**
+     * Counts the business days between {@code from} and {@code to}, both
+     * inclusive.
+     */
+    public long countBusinessDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end date must not be before the start date");
+        }
+        return businessDaysUpTo(to.toEpochDay()) - businessDaysUpTo(from.toEpochDay() - 1);
+    }
+
+    /**
+     * Returns the first business day strictly after {@code date}.
+     */
+    public LocalDate nextBusinessDay(LocalDate date) {
+        return addBusinessDays(date, 1);
+    }
+
+    /**
+     * Moves {@code days} business days away from {@code date}: forwards when
+     * positive, backwards when negative. With zero the date itself is returned
+     * if it is a business day, otherwise the next business day.
+     */
+    public LocalDate addBusinessDays(LocalDate date, int days) {
+        long day = date.toEpochDay();
+        long target = days > 0
+                ? businessDaysUpTo(day) + days
+                : businessDaysUpTo(day - 1) + days + 1;
+        return LocalDate.ofEpochDay(firstDayReaching(target, day));
+    }
+
+    /**
+     * Returns the smallest epoch day whose cumulative business-day count
+     * reaches {@code target}, searching outwards from {@code start}.
+     */
+    private long firstDayReaching(long target, long start) {
+        long low = start;
+        long high = start;
+        long step = 8;
+        while (businessDaysUpTo(high) < target) {
+            low = high;
+            high += step;
+            step <<= 1;
+        }
+        while (businessDaysUpTo(low) >= target) {
+            high = low;
+            low -= step;
+            step <<= 1;
+        }
+        while (high - low > 1) {
+            long middle = low + (high - low) / 2;
+            if (businessDaysUpTo(middle) >= target) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Number of business days up to and including {@code day}, relative to an
+     * arbitrary origin; only differences between two values are meaningful.
+     */
+    private long businessDaysUpTo(long day) {
+        long sinceMonday = day - MONDAY_ORIGIN;
+        long weekdays = Math.floorDiv(sinceMonday, 7) * 5 + Math.min(Math.floorMod(sinceMonday, 7) + 1, 5);
+        int index = Arrays.binarySearch(weekdayHolidays, (int) day);
+        int holidays = index >= 0 ? index + 1 : -index - 1;
+        return weekdays - holidays;
+    }
+
+    private static boolean isWeekday(int day) {
+        return Math.floorMod(day - MONDAY_ORIGIN, 7) < 5;
+    }
+}
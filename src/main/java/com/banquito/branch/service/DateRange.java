@@ -0,0 +1,38 @@
+package com.banquito.branch.service;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive date range taken from request parameters. Either end may be null
+ * for an open range.
+ */
+record DateRange(LocalDate from, LocalDate to) {
+
+    DateRange {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+    }
+
+    static DateRange of(LocalDate from, LocalDate to, Integer year) {
+        if (year == null) {
+            return new DateRange(from, to);
+        }
+        if (from != null || to != null) {
+            throw new IllegalArgumentException("Year cannot be combined with a from/to range");
+        }
+        return new DateRange(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    static DateRange bounded(LocalDate from, LocalDate to, int maxDays) {
+        DateRange range = new DateRange(from, to);
+        if (to.toEpochDay() - from.toEpochDay() >= maxDays) {
+            throw new IllegalArgumentException("Date range must not exceed " + maxDays + " days");
+        }
+        return range;
+    }
+
+    boolean isUnbounded() {
+        return from == null && to == null;
+    }
+}
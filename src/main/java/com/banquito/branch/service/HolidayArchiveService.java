@@ -0,0 +1,364 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.config.MetricsConfig;
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.exception.ArchivedDateException;
+import com.banquito.branch.logging.AuditLog;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.model.BranchHolidayArchive;
+import com.banquito.branch.repository.BranchHolidayArchiveRepository;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Moves holidays older than the horizon out of the branch documents into
+ * {@code branch_holiday_archive}, one document per branch and year, so the
+ * documents read on every request stay small. Holidays are written to the
+ * archive before they are pulled from the branch, so an interrupted run never
+ * loses a holiday; the next run completes it.
+ * <p>
+ * Both writes are conditional on the versions that were read. An archive that
+ * changed since, for example because a removal pulled a date from it, is left
+ * alone together with its branch, and a branch that changed keeps its holidays
+ * while the dates just added to its archives are taken out again. Removals
+ * bump the archive version even when the archive does not exist yet, so a
+ * removed holiday is never brought back into the archive by a run that read
+ * the branch before the removal.
+ * <p>
+ * Archived holidays are only returned when a read asks for them. The holiday
+ * index and business-day arithmetic only cover the holidays still in the
+ * branch, so dates before the cutoff are rejected there while archival is
+ * enabled. Only one replica usually runs the job
+ * ({@code branch.holiday-archive.scheduler.enabled}), but every replica serves
+ * the branches it archived, so {@code branch.holiday-archive.enabled} is set
+ * on all of them and the job does not run without it.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class HolidayArchiveService {
+
+    private final MongoTemplate mongoTemplate;
+    private final BranchHolidayArchiveRepository archiveRepository;
+    private final HolidayIndex holidayIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+    private final boolean enabled;
+    private final int horizonYears;
+    private final int batchSize;
+
+    public HolidayArchiveService(MongoTemplate mongoTemplate,
+                                 BranchHolidayArchiveRepository archiveRepository,
+                                 HolidayIndex holidayIndex,
+                                 ApplicationEventPublisher eventPublisher,
+                                 AuditLog auditLog,
+                                 @Value("${branch.holiday-archive.enabled:false}") boolean enabled,
+                                 @Value("${branch.holiday-archive.horizon-years:2}") int horizonYears,
+                                 @Value("${branch.holiday-archive.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveRepository = archiveRepository;
+        this.holidayIndex = holidayIndex;
+        this.eventPublisher = eventPublisher;
+        this.auditLog = auditLog;
+        this.enabled = enabled;
+        this.horizonYears = horizonYears;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${branch.holiday-archive.cron}")
+    public void archiveOnSchedule() {
+        if (!enabled) {
+            log.warn("Skipping holiday archival: branch.holiday-archive.enabled is not set");
+            return;
+        }
+        archive();
+    }
+
+    /**
+     * Archives every holiday dated before January 1st of the year
+     * {@code horizon-years} before the current one.
+     */
+    public Result archive() {
+        if (!enabled) {
+            throw new IllegalStateException("Holiday archival is disabled");
+        }
+        LocalDate cutoff = cutoff();
+        log.debug("Archiving branch holidays before {}", cutoff);
+        Query query = Query.query(Criteria.where("branchHolidays.date").lt(cutoff));
+        query.fields().include("branchHolidays", "version");
+        long scanned = 0;
+        long archived = 0;
+        long branches = 0;
+        List<Branch> batch = new ArrayList<>(batchSize);
+        try (Stream<Branch> found = mongoTemplate.stream(query, Branch.class)) {
+            for (Branch branch : (Iterable<Branch>) found::iterator) {
+                scanned++;
+                batch.add(branch);
+                if (batch.size() == batchSize) {
+                    Result flushed = flush(batch, cutoff);
+                    archived += flushed.holidays();
+                    branches += flushed.branches();
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            Result flushed = flush(batch, cutoff);
+            archived += flushed.holidays();
+            branches += flushed.branches();
+        }
+        Result result = new Result(cutoff, scanned, branches, archived);
+        auditLog.record("branch.holidays-archived", null, result);
+        return result;
+    }
+
+    /**
+     * Returns the archived holidays of a branch between {@code from} and
+     * {@code to} (both inclusive, either may be null), sorted by date.
+     */
+    public List<BranchHoliday> getArchivedHolidays(String branchId, LocalDate from, LocalDate to) {
+        int fromYear = from == null ? Integer.MIN_VALUE : from.getYear();
+        int toYear = to == null ? Integer.MAX_VALUE : to.getYear();
+        return archiveRepository.findByBranchIdAndYearRange(branchId, fromYear, toYear).stream()
+                .flatMap(archive -> archive.getHolidays().stream())
+                .filter(holiday -> (from == null || !holiday.getDate().isBefore(from))
+                        && (to == null || !holiday.getDate().isAfter(to)))
+                .toList();
+    }
+
+    /**
+     * Returns the date before which holidays may have been moved to the
+     * archive, or null when archival is disabled.
+     */
+    public LocalDate archivedBefore() {
+        return enabled ? cutoff() : null;
+    }
+
+    /**
+     * Rejects dates before the archive cutoff, which reads that only see the
+     * holidays still in the branch cannot answer correctly. Null dates are
+     * ignored.
+     */
+    public void requireUnarchived(LocalDate... dates) {
+        LocalDate cutoff = archivedBefore();
+        if (cutoff == null) {
+            return;
+        }
+        for (LocalDate date : dates) {
+            if (date != null && date.isBefore(cutoff)) {
+                throw new ArchivedDateException("Holidays before " + cutoff
+                        + " are archived and not covered by this operation: " + date);
+            }
+        }
+    }
+
+    public boolean isArchivedHoliday(String branchId, LocalDate date) {
+        return archiveRepository.existsHoliday(BranchHolidayArchive.id(branchId, date.getYear()), date);
+    }
+
+    /**
+     * Removes holidays of a branch from the archive as well, so a removed
+     * holiday does not come back on archived reads. While archival is enabled
+     * the archives of archivable years are created when missing, so their
+     * version moves and a run that read the branch earlier cannot archive
+     * the removed dates.
+     */
+    public void removeArchivedHolidays(String branchId, Collection<LocalDate> dates) {
+        LocalDate cutoff = archivedBefore();
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations archives = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BranchHolidayArchive.class);
+        dates.stream().map(LocalDate::getYear).distinct().forEach(year -> {
+            Query query = Query.query(Criteria.where("id").is(BranchHolidayArchive.id(branchId, year)));
+            Update update = new Update()
+                    .pull("holidays", Query.query(Criteria.where("date").in(dates)))
+                    .inc("version", 1)
+                    .set("lastModifiedDate", now);
+            if (cutoff != null && year < cutoff.getYear()) {
+                archives.upsert(query, update.setOnInsert("branchId", branchId).setOnInsert("year", year));
+            } else {
+                archives.updateOne(query, update);
+            }
+        });
+        archives.execute();
+    }
+
+    /**
+     * Merges the old holidays of a batch of branches into their archive
+     * documents with one read and one bulk upsert, then pulls them from each
+     * branch whose archives were all written. Branches that were not pulled
+     * get the dates just added to their archives taken out again.
+     */
+    private Result flush(List<Branch> batch, LocalDate cutoff) {
+        Map<String, List<BranchHoliday>> byArchive = new LinkedHashMap<>();
+        Map<String, Set<String>> archivesByBranch = new LinkedHashMap<>();
+        for (Branch branch : batch) {
+            for (BranchHoliday holiday : branch.getBranchHolidays()) {
+                if (holiday.getDate().isBefore(cutoff)) {
+                    String id = BranchHolidayArchive.id(branch.getId(), holiday.getDate().getYear());
+                    byArchive.computeIfAbsent(id, key -> new ArrayList<>()).add(holiday);
+                    archivesByBranch.computeIfAbsent(branch.getId(), key -> new LinkedHashSet<>()).add(id);
+                }
+            }
+        }
+        Map<String, BranchHolidayArchive> existing = archiveRepository.findAllById(byArchive.keySet()).stream()
+                .collect(Collectors.toMap(BranchHolidayArchive::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<String> ids = new ArrayList<>(byArchive.keySet());
+        BulkOperations archives = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BranchHolidayArchive.class);
+        for (String id : ids) {
+            BranchHolidayArchive current = existing.get(id);
+            int separator = id.lastIndexOf(':');
+            archives.upsert(Query.query(readVersion(id, current)), new Update()
+                    .set("branchId", id.substring(0, separator))
+                    .set("year", Integer.parseInt(id.substring(separator + 1)))
+                    .set("holidays", HolidayLists.merge(current == null ? List.of() : current.getHolidays(),
+                            byArchive.get(id)))
+                    .inc("version", 1)
+                    .set("lastModifiedDate", now));
+        }
+        Set<String> conflicts = writeArchives(archives, ids);
+
+        long pulled = 0;
+        long archived = 0;
+        BulkOperations reverts = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BranchHolidayArchive.class);
+        boolean reverting = false;
+        for (Branch branch : batch) {
+            Set<String> branchArchives = archivesByBranch.get(branch.getId());
+            if (branchArchives.stream().noneMatch(conflicts::contains) && pull(branch, cutoff, now)) {
+                pulled(branch);
+                pulled++;
+                archived += branchArchives.stream().mapToLong(id -> byArchive.get(id).size()).sum();
+                continue;
+            }
+            for (String id : branchArchives) {
+                if (!conflicts.contains(id)) {
+                    reverting |= revert(reverts, id, existing.get(id), byArchive.get(id), now);
+                }
+            }
+        }
+        if (reverting) {
+            reverts.execute();
+        }
+        return new Result(cutoff, batch.size(), pulled, archived);
+    }
+
+    /**
+     * Runs the archive upserts and returns the IDs of the archives that
+     * changed since they were read: their filter no longer matches, so the
+     * upsert collides with the existing ID.
+     */
+    private static Set<String> writeArchives(BulkOperations archives, List<String> ids) {
+        try {
+            archives.execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            Set<String> conflicts = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+                conflicts.add(ids.get(error.getIndex()));
+            }
+            log.debug("Skipping {} holiday archives that changed during the run", conflicts.size());
+            return conflicts;
+        }
+    }
+
+    /**
+     * Pulls the old holidays from a branch if it is still at the version that
+     * was read.
+     */
+    private boolean pull(Branch branch, LocalDate cutoff, LocalDateTime now) {
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(branch.getId()).and("version").is(branch.getVersion())),
+                new Update()
+                        .pull("branchHolidays", Query.query(Criteria.where("date").lt(cutoff)))
+                        .inc("version", 1)
+                        .set("lastModifiedDate", now),
+                Branch.class).getModifiedCount() > 0;
+    }
+
+    /**
+     * Fences a pulled branch at the version the pull left it at, so reads
+     * that still saw the old holidays are not cached or indexed.
+     */
+    private void pulled(Branch branch) {
+        long version = (branch.getVersion() == null ? 0L : branch.getVersion()) + 1;
+        holidayIndex.fence(branch.getId(), version);
+        eventPublisher.publishEvent(new BranchChangedEvent(branch.getId(), version));
+    }
+
+    /**
+     * Queues the removal of the dates this run added to an archive, as long
+     * as the archive is still at the version this run wrote. Returns whether
+     * anything was queued.
+     */
+    private static boolean revert(BulkOperations reverts, String id, BranchHolidayArchive current,
+                                  List<BranchHoliday> holidays, LocalDateTime now) {
+        Set<LocalDate> kept = current == null ? Set.of() : current.getHolidays().stream()
+                .map(BranchHoliday::getDate)
+                .collect(Collectors.toSet());
+        List<LocalDate> added = holidays.stream()
+                .map(BranchHoliday::getDate)
+                .filter(date -> !kept.contains(date))
+                .toList();
+        if (added.isEmpty()) {
+            return false;
+        }
+        long written = (current == null || current.getVersion() == null ? 0 : current.getVersion()) + 1;
+        reverts.updateOne(Query.query(Criteria.where("id").is(id).and("version").is(written)), new Update()
+                .pull("holidays", Query.query(Criteria.where("date").in(added)))
+                .inc("version", 1)
+                .set("lastModifiedDate", now));
+        return true;
+    }
+
+    private static Criteria readVersion(String id, BranchHolidayArchive current) {
+        Criteria criteria = Criteria.where("id").is(id);
+        return current == null || current.getVersion() == null
+                ? criteria.and("version").exists(false)
+                : criteria.and("version").is(current.getVersion());
+    }
+
+    private LocalDate cutoff() {
+        return LocalDate.now().minusYears(horizonYears).withDayOfYear(1);
+    }
+
+    /**
+     * @param cutoff   holidays before this date were archived
+     * @param scanned  branches that had holidays before the cutoff
+     * @param branches branches whose old holidays were removed; the others
+     *                 or their archives changed during the run and are
+     *                 finished by the next one
+     * @param holidays holidays moved to the archive
+     */
+    public record Result(LocalDate cutoff, long scanned, long branches, long holidays) {
+    }
+}
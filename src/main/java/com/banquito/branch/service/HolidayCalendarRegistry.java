@@ -0,0 +1,229 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.model.HolidayCalendar;
+import com.banquito.branch.repository.HolidayCalendarRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of every holiday calendar, precompiled for the read paths.
+ * Calendars are few and change rarely, so all of them are loaded with one
+ * query and the whole set is dropped whenever any calendar changes.
+ * <p>
+ * Like the holiday index, the set expires after {@code expire-after-write},
+ * which bounds how long this replica serves calendars edited on another one
+ * when no invalidation reaches it. Each invalidation starts a new generation,
+ * and a load only installs its result if no invalidation happened while it
+ * ran, so a slow load cannot bring back the calendars it read before an edit.
+ */
+@Slf4j
+@Component
+public class HolidayCalendarRegistry {
+
+    private final HolidayCalendarRepository calendarRepository;
+
+    private final long expireAfterWriteNanos;
+
+    private final Object loadLock = new Object();
+
+    private volatile Snapshot snapshot;
+
+    private long generation;
+
+    public HolidayCalendarRegistry(HolidayCalendarRepository calendarRepository,
+                                   @Value("${branch.holiday-index.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.calendarRepository = calendarRepository;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+    }
+
+    /**
+     * Tells whether the calendars are loaded and current, so reading them
+     * does not query MongoDB.
+     */
+    public boolean isLoaded() {
+        Snapshot current = snapshot;
+        return current != null && !current.isExpired();
+    }
+
+    public boolean contains(String calendarId) {
+        return calendars().containsKey(calendarId);
+    }
+
+    /**
+     * Returns the sorted epoch days of a calendar, or an empty array when the
+     * calendar does not exist.
+     */
+    public int[] getHolidayDays(String calendarId) {
+        CompiledCalendar calendar = calendars().get(calendarId);
+        return calendar == null ? HolidayIndex.NO_HOLIDAYS : calendar.days();
+    }
+
+    /**
+     * Returns every date covered by the given calendars, failing if one of
+     * them does not exist.
+     */
+    public Set<LocalDate> getDates(Collection<String> calendarIds) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (String calendarId : calendarIds) {
+            CompiledCalendar calendar = calendars().get(calendarId);
+            if (calendar == null) {
+                throw new IllegalArgumentException("Holiday calendar not found with id: " + calendarId);
+            }
+            dates.addAll(calendar.holidays().keySet());
+        }
+        return dates;
+    }
+
+    /**
+     * Returns the IDs of the calendars that have a holiday on {@code date}.
+     */
+    public List<String> getCalendarIdsClosedOn(LocalDate date) {
+        return calendars().values().stream()
+                .filter(calendar -> calendar.holidays().containsKey(date))
+                .map(calendar -> calendar.calendar().getId())
+                .toList();
+    }
+
+    /**
+     * Merges the holidays of the referenced calendars with the branch's own
+     * holidays, ordered by date. Calendars later in the list win over earlier
+     * ones on the same date, and the branch's own holidays win over all of
+     * them. {@code from} and {@code to} are inclusive and may be null.
+     */
+    public List<BranchHoliday> resolve(List<BranchHoliday> ownHolidays, List<String> calendarIds,
+                                       LocalDate from, LocalDate to) {
+        if (calendarIds == null || calendarIds.isEmpty()) {
+            return ownHolidays;
+        }
+        LocalDate first = from == null ? LocalDate.MIN : from;
+        LocalDate last = to == null ? LocalDate.MAX : to;
+        NavigableMap<LocalDate, BranchHoliday> effective = new TreeMap<>();
+        for (String calendarId : calendarIds) {
+            CompiledCalendar calendar = calendars().get(calendarId);
+            if (calendar != null) {
+                effective.putAll(calendar.holidays().subMap(first, true, last, true));
+            }
+        }
+        if (ownHolidays != null) {
+            ownHolidays.forEach(holiday -> effective.put(holiday.getDate(), holiday));
+        }
+        return new ArrayList<>(effective.values());
+    }
+
+    /**
+     * Returns the dates among {@code dates} that one of the calendars provides
+     * and that are not among the branch's own holidays. Removing such a date
+     * from the branch would leave it a holiday.
+     */
+    public List<LocalDate> getCalendarOnlyDates(List<BranchHoliday> ownHolidays, List<String> calendarIds,
+                                                Collection<LocalDate> dates) {
+        if (calendarIds == null || calendarIds.isEmpty()) {
+            return List.of();
+        }
+        Set<LocalDate> ownDates = ownHolidays == null ? Set.of() : ownHolidays.stream()
+                .map(BranchHoliday::getDate)
+                .collect(Collectors.toSet());
+        return dates.stream()
+                .filter(date -> !ownDates.contains(date))
+                .filter(date -> calendarIds.stream()
+                        .map(calendars()::get)
+                        .anyMatch(calendar -> calendar != null && calendar.holidays().containsKey(date)))
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Extends the version of a branch's holidays with the versions of the
+     * calendars it references, so the tag changes when any of them changes.
+     */
+    public ResourceVersion withCalendars(ResourceVersion branchVersion, List<String> calendarIds) {
+        if (calendarIds == null || calendarIds.isEmpty()) {
+            return branchVersion;
+        }
+        StringBuilder eTag = new StringBuilder(branchVersion.eTag());
+        Instant lastModified = branchVersion.lastModified();
+        for (String calendarId : calendarIds) {
+            CompiledCalendar calendar = calendars().get(calendarId);
+            eTag.append('.').append(calendar == null ? 0 : calendar.calendar().getVersion());
+            if (calendar != null) {
+                lastModified = ResourceVersion.latest(lastModified,
+                        ResourceVersion.toInstant(calendar.calendar().getLastModifiedDate()));
+            }
+        }
+        return new ResourceVersion(eTag.toString(), lastModified);
+    }
+
+    public void invalidate() {
+        log.debug("Invalidating holiday calendars");
+        synchronized (this) {
+            generation++;
+            snapshot = null;
+        }
+    }
+
+    private Map<String, CompiledCalendar> calendars() {
+        Snapshot current = snapshot;
+        if (current != null && !current.isExpired()) {
+            return current.calendars();
+        }
+        synchronized (loadLock) {
+            long loadGeneration;
+            synchronized (this) {
+                current = snapshot;
+                if (current != null && !current.isExpired()) {
+                    return current.calendars();
+                }
+                loadGeneration = generation;
+            }
+            Snapshot loaded = new Snapshot(load(), System.nanoTime() + expireAfterWriteNanos);
+            synchronized (this) {
+                if (generation == loadGeneration) {
+                    snapshot = loaded;
+                }
+            }
+            return loaded.calendars();
+        }
+    }
+
+    private Map<String, CompiledCalendar> load() {
+        List<HolidayCalendar> all = calendarRepository.findAll();
+        log.debug("Loaded {} holiday calendars", all.size());
+        return all.stream().collect(Collectors.toUnmodifiableMap(HolidayCalendar::getId, CompiledCalendar::of));
+    }
+
+    private record Snapshot(Map<String, CompiledCalendar> calendars, long expiresAt) {
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+
+    private record CompiledCalendar(HolidayCalendar calendar, NavigableMap<LocalDate, BranchHoliday> holidays,
+                                    int[] days) {
+
+        static CompiledCalendar of(HolidayCalendar calendar) {
+            NavigableMap<LocalDate, BranchHoliday> holidays = calendar.getHolidays() == null
+                    ? new TreeMap<>()
+                    : calendar.getHolidays().stream().collect(Collectors.toMap(
+                            BranchHoliday::getDate, Function.identity(), (first, second) -> first, TreeMap::new));
+            return new CompiledCalendar(calendar, holidays, HolidayIndex.compile(calendar.getHolidays()));
+        }
+    }
+}
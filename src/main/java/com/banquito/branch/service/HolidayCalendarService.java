@@ -0,0 +1,119 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.config.MetricsConfig;
+import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.HolidayCalendarDTO;
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.event.HolidayCalendarChangedEvent;
+import com.banquito.branch.logging.AuditLog;
+import com.banquito.branch.mapper.BranchMapper;
+import com.banquito.branch.mapper.HolidayCalendarMapper;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.HolidayCalendar;
+import com.banquito.branch.repository.BranchRepository;
+import com.banquito.branch.repository.HolidayCalendarRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Manages the shared holiday calendars. Holidays are kept unique by date and
+ * sorted. A change to a calendar affects every branch that references it, so
+ * it reloads the calendar registry and bumps the version of those branches;
+ * their cache and holiday index entries are then fenced at the new version.
+ * <p>
+ * Holiday changes are atomic updates that need no prior read, so concurrent
+ * edits of one calendar neither conflict nor lose each other's holidays.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+@RequiredArgsConstructor
+public class HolidayCalendarService {
+
+    private final HolidayCalendarRepository calendarRepository;
+    private final BranchRepository branchRepository;
+    private final HolidayCalendarMapper calendarMapper;
+    private final BranchMapper branchMapper;
+    private final HolidayCalendarRegistry calendarRegistry;
+    private final HolidayIndex holidayIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+
+    @Transactional(readOnly = true)
+    public List<HolidayCalendarDTO> getAllCalendars() {
+        log.debug("Getting all holiday calendars");
+        return calendarMapper.toDtoList(calendarRepository.findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public HolidayCalendarDTO getCalendarById(String id) {
+        log.debug("Getting holiday calendar with id: {}", id);
+        return calendarMapper.toDto(findCalendar(id));
+    }
+
+    @Transactional
+    public HolidayCalendarDTO createCalendar(HolidayCalendarDTO calendarDTO) {
+        log.debug("Creating holiday calendar with code: {}", calendarDTO.getCode());
+        if (calendarRepository.existsByCode(calendarDTO.getCode())) {
+            throw new IllegalArgumentException("Holiday calendar with code " + calendarDTO.getCode() + " already exists");
+        }
+        HolidayCalendar calendar = calendarMapper.toEntity(calendarDTO);
+        calendar.setHolidays(HolidayLists.normalize(calendar.getHolidays()));
+        calendar = calendarRepository.save(calendar);
+        calendarChanged(calendar.getId());
+        HolidayCalendarDTO created = calendarMapper.toDto(calendar);
+        auditLog.record("calendar.created", calendar.getId(), created);
+        return created;
+    }
+
+    @Transactional
+    public HolidayCalendarDTO addHolidays(String id, List<BranchHolidayDTO> holidays) {
+        log.debug("Adding holidays to holiday calendar with id: {}", id);
+        HolidayCalendar calendar = calendarRepository.mergeHolidays(id,
+                        HolidayLists.normalize(holidays.stream().map(branchMapper::toEntity).toList()))
+                .orElseThrow(() -> new IllegalArgumentException("Holiday calendar not found with id: " + id));
+        calendarChanged(id);
+        auditLog.record("calendar.holidays-added", id, Map.of("holidays", holidays, "version", calendar.getVersion()));
+        return calendarMapper.toDto(calendar);
+    }
+
+    @Transactional
+    public HolidayCalendarDTO removeHolidays(String id, List<LocalDate> holidayDates) {
+        log.debug("Removing holidays from holiday calendar with id: {}", id);
+        HolidayCalendar calendar = calendarRepository.pullHolidays(id, holidayDates)
+                .orElseThrow(() -> new IllegalArgumentException("Holiday calendar not found with id: " + id));
+        calendarChanged(id);
+        auditLog.record("calendar.holidays-removed", id, Map.of("dates", holidayDates, "version", calendar.getVersion()));
+        return calendarMapper.toDto(calendar);
+    }
+
+    private HolidayCalendar findCalendar(String id) {
+        return calendarRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Holiday calendar not found with id: " + id));
+    }
+
+    /**
+     * Reloads the registry, here and on the other replicas, before bumping the
+     * branches, so a read that sees a new branch version also sees the new
+     * calendar.
+     */
+    private void calendarChanged(String calendarId) {
+        calendarRegistry.invalidate();
+        eventPublisher.publishEvent(new HolidayCalendarChangedEvent(calendarId));
+        try (Stream<Branch> branches = branchRepository.touchByCalendarId(calendarId)) {
+            branches.forEach(branch -> {
+                holidayIndex.fence(branch.getId(), branch.getVersion());
+                eventPublisher.publishEvent(new BranchChangedEvent(branch.getId(), branch.getVersion()));
+            });
+        }
+    }
+}
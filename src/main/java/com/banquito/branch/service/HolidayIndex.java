@@ -0,0 +1,298 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.repository.BranchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Read-side index of branch holidays. Each branch is kept as a
+ * {@link BusinessCalendar} compiled from its own holidays and the calendars it
+ * references, so holiday checks and business-day arithmetic are binary
+ * searches with no MongoDB access. Entries are loaded lazily on first use and
+ * replaced by the write paths. Lookups are counted as hits when the branch is
+ * already indexed and as misses when it has to be loaded.
+ * <p>
+ * Each entry keeps the branch version it was compiled from and is only
+ * replaced by a newer one, so a write that finishes late cannot overwrite the
+ * result of a later write. Writes that do not read the branch back
+ * {@link #fence fence} it with the version they produced, which a load only
+ * replaces with a branch at least that new. Entries expire after {@code expire-after-write}:
+ * without the Redis broadcast or the change stream nothing tells this replica
+ * about writes made by the others, and the expiry bounds how long it keeps
+ * answering from their old holidays.
+ */
+@Slf4j
+@Component
+public class HolidayIndex {
+
+    static final int[] NO_HOLIDAYS = new int[0];
+
+    private final BranchRepository branchRepository;
+    private final HolidayCalendarRegistry calendarRegistry;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    private final long expireAfterWriteNanos;
+
+    private final Map<String, Entry> holidaysByBranch = new ConcurrentHashMap<>();
+
+    public HolidayIndex(BranchRepository branchRepository,
+                        HolidayCalendarRegistry calendarRegistry,
+                        MeterRegistry meterRegistry,
+                        @Value("${branch.holiday-index.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.branchRepository = branchRepository;
+        this.calendarRegistry = calendarRegistry;
+        this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    public boolean isHoliday(String branchId, LocalDate date) {
+        return getBusinessCalendar(branchId).isHoliday(date);
+    }
+
+    public int[] getHolidayDays(String branchId) {
+        return getBusinessCalendar(branchId).holidayDays();
+    }
+
+    public BusinessCalendar getBusinessCalendar(String branchId) {
+        Entry entry = holidaysByBranch.get(branchId);
+        if (isStale(entry)) {
+            misses.increment();
+            return install(branchId, load(branchId));
+        }
+        hits.increment();
+        return entry.calendar();
+    }
+
+    /**
+     * Loads every branch in {@code branchIds} that is not indexed yet with a
+     * single {@code $in} query.
+     */
+    public void preload(Collection<String> branchIds) {
+        List<String> missing = branchIds.stream()
+                .filter(branchId -> isStale(holidaysByBranch.get(branchId)))
+                .distinct()
+                .toList();
+        hits.increment(branchIds.size() - missing.size());
+        misses.increment(missing.size());
+        if (missing.isEmpty()) {
+            return;
+        }
+        log.debug("Loading holiday index for {} branches", missing.size());
+        branchRepository.findHolidayDatesByIdIn(missing).forEach(this::put);
+        missing.stream()
+                .filter(branchId -> !holidaysByBranch.containsKey(branchId))
+                .findFirst()
+                .ifPresent(branchId -> {
+                    throw new IllegalArgumentException("Branch not found with id: " + branchId);
+                });
+    }
+
+    /**
+     * Returns a branch loaded by {@link #preload} without counting the lookup
+     * again.
+     */
+    BusinessCalendar getPreloaded(String branchId) {
+        Entry entry = holidaysByBranch.get(branchId);
+        return isStale(entry) ? getBusinessCalendar(branchId) : entry.calendar();
+    }
+
+    /**
+     * Returns the indexed holidays of a branch, or null when the branch has not
+     * been loaded yet.
+     */
+    public int[] getIfPresent(String branchId) {
+        BusinessCalendar calendar = getBusinessCalendarIfPresent(branchId);
+        return calendar == null ? null : calendar.holidayDays();
+    }
+
+    /**
+     * Returns the indexed calendar of a branch, or null when the branch has not
+     * been loaded yet.
+     */
+    public BusinessCalendar getBusinessCalendarIfPresent(String branchId) {
+        Entry entry = holidaysByBranch.get(branchId);
+        if (isStale(entry)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.calendar();
+    }
+
+    /**
+     * Indexes a branch read after a write, unless the index already holds a
+     * newer version of it, and returns the calendar the index keeps. The
+     * branch must have been read with its version.
+     */
+    public BusinessCalendar put(Branch branch) {
+        return install(branch.getId(), entry(branch));
+    }
+
+    /**
+     * Replaces the entry of a branch only if it is already indexed, so changes
+     * seen for branches nobody reads do not grow the index.
+     */
+    public void refreshIfPresent(Branch branch) {
+        if (!holidaysByBranch.containsKey(branch.getId())) {
+            return;
+        }
+        Entry entry = entry(branch);
+        holidaysByBranch.computeIfPresent(branch.getId(), (branchId, current) -> newer(current, entry));
+    }
+
+    /**
+     * Marks a branch as changed to {@code version} by a write that did not
+     * read it back. Loads of an older version are then not kept, while an
+     * entry already at that version stays.
+     */
+    public void fence(String branchId, long version) {
+        Entry fence = new Entry(null, version, System.nanoTime() + expireAfterWriteNanos);
+        holidaysByBranch.compute(branchId, (id, current) -> newer(current, fence));
+    }
+
+    public void evict(String branchId) {
+        holidaysByBranch.remove(branchId);
+    }
+
+    public void clear() {
+        holidaysByBranch.clear();
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("branch.holiday.index.lookups")
+                .description("Holiday index lookups, by whether the branch was already indexed")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Entry load(String branchId) {
+        log.debug("Loading holiday index for branch with id: {}", branchId);
+        Branch branch = branchRepository.findHolidayDatesById(branchId)
+                .orElseThrow(() -> new IllegalArgumentException("Branch not found with id: " + branchId));
+        return entry(branch);
+    }
+
+    /**
+     * Installs a compiled entry unless a newer one or a newer fence is already
+     * there, and returns the calendar to answer with: the kept entry's, or the
+     * candidate's when only a fence was kept.
+     */
+    private BusinessCalendar install(String branchId, Entry entry) {
+        Entry kept = holidaysByBranch.compute(branchId, (id, current) -> newer(current, entry));
+        return kept.isFence() ? entry.calendar() : kept.calendar();
+    }
+
+    /**
+     * Picks the entry to keep. Entries are compiled before this runs, since
+     * compiling may load the calendars and must not hold the map's lock. A
+     * fence gives way to an entry of the same version, which is the state the
+     * fencing write produced.
+     */
+    private static Entry newer(Entry current, Entry candidate) {
+        if (current == null || isExpired(current)) {
+            return candidate;
+        }
+        if (current.isFence()) {
+            return candidate.version() >= current.version() ? candidate : current;
+        }
+        return candidate.version() > current.version() ? candidate : current;
+    }
+
+    private Entry entry(Branch branch) {
+        return new Entry(compile(branch), versionOf(branch), System.nanoTime() + expireAfterWriteNanos);
+    }
+
+    private static boolean isStale(Entry entry) {
+        return entry == null || entry.isFence() || isExpired(entry);
+    }
+
+    private static boolean isExpired(Entry entry) {
+        return entry.expiresAt() - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Documents written before versioning was enabled have no version and are
+     * treated as version 0, like their ETag.
+     */
+    private static long versionOf(Branch branch) {
+        return branch.getVersion() == null ? 0L : branch.getVersion();
+    }
+
+    /**
+     * Compiles the effective holidays of a branch: its own dates plus the dates
+     * of every calendar it references. The branch must have been read with at
+     * least {@code branchHolidays.date} and {@code calendarIds}.
+     */
+    public BusinessCalendar compile(Branch branch) {
+        int[] days = compile(branch.getBranchHolidays());
+        if (branch.getCalendarIds() == null || branch.getCalendarIds().isEmpty()) {
+            return days.length == 0 ? BusinessCalendar.EMPTY : new BusinessCalendar(days);
+        }
+        IntStream merged = Arrays.stream(days);
+        for (String calendarId : branch.getCalendarIds()) {
+            merged = IntStream.concat(merged, Arrays.stream(calendarRegistry.getHolidayDays(calendarId)));
+        }
+        return new BusinessCalendar(merged.sorted().distinct().toArray());
+    }
+
+    /**
+     * Converts stored holidays to sorted epoch days. Stored holidays are
+     * already sorted and unique by date, so this is a single pass; documents
+     * that have not been normalized yet are sorted here.
+     */
+    static int[] compile(List<BranchHoliday> holidays) {
+        if (holidays == null || holidays.isEmpty()) {
+            return NO_HOLIDAYS;
+        }
+        int[] days = new int[holidays.size()];
+        boolean sorted = true;
+        for (int i = 0; i < days.length; i++) {
+            days[i] = (int) holidays.get(i).getDate().toEpochDay();
+            sorted &= i == 0 || days[i - 1] < days[i];
+        }
+        return sorted ? days : Arrays.stream(days).sorted().distinct().toArray();
+    }
+
+    /**
+     * Renders the holidays in {@code range} as a string with one character per
+     * day: '1' for a holiday and '0' otherwise.
+     */
+    static String toBitmap(int[] holidayDays, DateRange range) {
+        int fromDay = (int) range.from().toEpochDay();
+        int toDay = (int) range.to().toEpochDay();
+        char[] bits = new char[toDay - fromDay + 1];
+        Arrays.fill(bits, '0');
+        int index = Arrays.binarySearch(holidayDays, fromDay);
+        for (int i = index >= 0 ? index : -index - 1; i < holidayDays.length && holidayDays[i] <= toDay; i++) {
+            bits[holidayDays[i] - fromDay] = '1';
+        }
+        return new String(bits);
+    }
+
+    /**
+     * A compiled branch, or a fence when {@code calendar} is null.
+     */
+    private record Entry(BusinessCalendar calendar, long version, long expiresAt) {
+
+        boolean isFence() {
+            return calendar == null;
+        }
+    }
+}
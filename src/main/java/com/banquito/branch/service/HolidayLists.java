@@ -0,0 +1,83 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.model.BranchHoliday;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Operations on holiday lists stored sorted by date with at most one holiday
+ * per date. Lists read from documents written before that rule existed are
+ * normalized first.
+ */
+final class HolidayLists {
+
+    private static final Comparator<BranchHoliday> BY_DATE = Comparator.comparing(BranchHoliday::getDate);
+
+    private HolidayLists() {
+    }
+
+    static boolean isNormalized(List<BranchHoliday> holidays) {
+        if (holidays == null) {
+            return true;
+        }
+        for (int i = 1; i < holidays.size(); i++) {
+            if (!holidays.get(i - 1).getDate().isBefore(holidays.get(i).getDate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the holidays sorted by date; on the same date the one that comes
+     * last wins.
+     */
+    static List<BranchHoliday> normalize(List<BranchHoliday> holidays) {
+        if (holidays == null) {
+            return new ArrayList<>();
+        }
+        if (isNormalized(holidays)) {
+            return new ArrayList<>(holidays);
+        }
+        List<BranchHoliday> sorted = new ArrayList<>(holidays);
+        sorted.sort(BY_DATE);
+        List<BranchHoliday> unique = new ArrayList<>(sorted.size());
+        for (BranchHoliday holiday : sorted) {
+            int last = unique.size() - 1;
+            if (last >= 0 && unique.get(last).getDate().equals(holiday.getDate())) {
+                unique.set(last, holiday);
+            } else {
+                unique.add(holiday);
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Merges {@code added} into {@code current} in a single pass over both
+     * sorted lists; on the same date the holiday from {@code added} wins.
+     */
+    static List<BranchHoliday> merge(List<BranchHoliday> current, List<BranchHoliday> added) {
+        List<BranchHoliday> left = normalize(current);
+        List<BranchHoliday> right = normalize(added);
+        List<BranchHoliday> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            int order = left.get(i).getDate().compareTo(right.get(j).getDate());
+            if (order < 0) {
+                merged.add(left.get(i++));
+            } else {
+                if (order == 0) {
+                    i++;
+                }
+                merged.add(right.get(j++));
+            }
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return merged;
+    }
+}
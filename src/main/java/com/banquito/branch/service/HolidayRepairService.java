@@ -0,0 +1,113 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.config.MetricsConfig;
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.logging.AuditLog;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Rewrites branch documents whose holidays are not sorted and unique by date,
+ * as written before that rule was enforced. Each rewrite only applies if the
+ * branch is still at the version that was read, so a branch changed in the
+ * meantime is skipped rather than overwritten; running the repair again
+ * picks it up.
+ */
+@Slf4j
+@Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+public class HolidayRepairService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+    private final int batchSize;
+
+    public HolidayRepairService(MongoTemplate mongoTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                AuditLog auditLog,
+                                @Value("${branch.holiday-repair.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.auditLog = auditLog;
+        this.batchSize = batchSize;
+    }
+
+    public Result repair() {
+        log.debug("Repairing branch holidays");
+        Query query = new Query(Criteria.where("branchHolidays.1").exists(true));
+        query.fields().include("branchHolidays", "version");
+        long scanned = 0;
+        long needed = 0;
+        long repaired = 0;
+        BulkOperations operations = null;
+        try (Stream<Branch> branches = mongoTemplate.stream(query, Branch.class)) {
+            for (Branch branch : (Iterable<Branch>) branches::iterator) {
+                scanned++;
+                if (HolidayLists.isNormalized(branch.getBranchHolidays())) {
+                    continue;
+                }
+                if (operations == null) {
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Branch.class);
+                }
+                operations.updateOne(atVersion(branch), normalized(branch.getBranchHolidays()));
+                if (++needed % batchSize == 0) {
+                    repaired += operations.execute().getModifiedCount();
+                    operations = null;
+                }
+            }
+        }
+        if (operations != null) {
+            repaired += operations.execute().getModifiedCount();
+        }
+        Result result = new Result(scanned, repaired, needed - repaired);
+        if (repaired > 0) {
+            eventPublisher.publishEvent(BranchChangedEvent.all());
+        }
+        auditLog.record("branch.holidays-repaired", null, result);
+        return result;
+    }
+
+    private static Query atVersion(Branch branch) {
+        Criteria criteria = Criteria.where("id").is(branch.getId());
+        if (branch.getVersion() != null) {
+            criteria.and("version").is(branch.getVersion());
+        }
+        return Query.query(criteria);
+    }
+
+    /**
+     * Auditing does not run for bulk updates, so the version and the last
+     * modified date are maintained explicitly.
+     */
+    private static Update normalized(List<BranchHoliday> holidays) {
+        return new Update()
+                .set("branchHolidays", HolidayLists.normalize(holidays))
+                .inc("version", 1)
+                .set("lastModifiedDate", LocalDateTime.now());
+    }
+
+    /**
+     * @param scanned  branches with more than one holiday that were read
+     * @param repaired branches whose holidays were rewritten
+     * @param skipped  branches that needed a repair but changed before it was
+     *                 written
+     */
+    public record Result(long scanned, long repaired, long skipped) {
+    }
+}
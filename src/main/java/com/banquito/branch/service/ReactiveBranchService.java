@@ -0,0 +1,433 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.dto.BranchSummaryDTO;
+import com.banquito.branch.dto.BusinessDayBatchDTO;
+import com.banquito.branch.dto.BusinessDayQueryDTO;
+import com.banquito.branch.dto.BusinessDayResultDTO;
+import com.banquito.branch.dto.HolidayCheckBatchDTO;
+import com.banquito.branch.dto.HolidayCheckBatchResultDTO;
+import com.banquito.branch.dto.HolidayRolloutDTO;
+import com.banquito.branch.dto.HolidayRolloutResultDTO;
+import com.banquito.branch.event.BranchChangedEvent;
+import com.banquito.branch.exception.PreconditionFailedException;
+import com.banquito.branch.logging.AuditLog;
+import com.banquito.branch.mapper.BranchMapper;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.repository.ReactiveBranchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Non-blocking counterpart of {@link BranchService}, used when the application
+ * runs on WebFlux. It shares the holiday index with the blocking service, but
+ * only reads entries that are already loaded and fills misses through the
+ * reactive repository. The archive is only reachable through blocking MongoDB
+ * calls, so its reads and removals run on the bounded elastic scheduler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBranchService {
+
+    private final ReactiveBranchRepository branchRepository;
+    private final BranchMapper branchMapper;
+    private final HolidayIndex holidayIndex;
+    private final HolidayCalendarRegistry calendarRegistry;
+    private final HolidayArchiveService archiveService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditLog auditLog;
+
+    public Flux<BranchDTO> getAllBranches() {
+        log.debug("Getting all branches");
+        return branchRepository.findAll().map(branchMapper::toDto);
+    }
+
+    public Flux<BranchDTO> getBranchPage(String after, Integer limit) {
+        int size = BranchService.pageSize(limit);
+        log.debug("Getting branch page after: {} with size: {}", after, size);
+        Pageable pageable = PageRequest.of(0, size, Sort.by("id"));
+        Flux<Branch> branches = after == null
+                ? branchRepository.findAllBy(pageable)
+                : branchRepository.findByIdGreaterThan(BranchService.cursor(after), pageable);
+        return branches.map(branchMapper::toDto);
+    }
+
+    /**
+     * Returns one page of branch summaries matching the filters, ordered like
+     * {@link BranchService#searchBranches}.
+     */
+    public Flux<BranchSummaryDTO> searchBranches(BranchSearchDTO search, String sort, Integer page, Integer limit) {
+        log.debug("Searching branches with {}", search);
+        if (page != null && page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        Sort order = BranchService.searchSort(sort);
+        if (order.isUnsorted() && search.getText() == null) {
+            order = Sort.by("id");
+        }
+        Pageable pageable = PageRequest.of(page == null ? 0 : page, BranchService.pageSize(limit), order);
+        Mono<List<String>> closedCalendarIds = search.getOpenOn() == null
+                ? Mono.just(List.of())
+                : withCalendars(() -> calendarRegistry.getCalendarIdsClosedOn(search.getOpenOn()));
+        return closedCalendarIds
+                .flatMapMany(calendarIds -> branchRepository.search(search, calendarIds, pageable))
+                .map(branchMapper::toSummaryDto);
+    }
+
+    public Mono<BranchDTO> createBranch(BranchDTO branchDTO) {
+        log.debug("Creating new branch with email: {}", branchDTO.getEmailAddress());
+        return branchRepository.existsByEmailAddress(branchDTO.getEmailAddress())
+                .flatMap(exists -> exists
+                        ? Mono.error(new IllegalArgumentException(
+                                "Branch with email " + branchDTO.getEmailAddress() + " already exists"))
+                        : withCalendars(() -> calendarRegistry.getDates(branchDTO.getCalendarIds()))
+                                .then(Mono.defer(() -> branchRepository.save(toEntity(branchDTO)))))
+                .flatMap(this::index)
+                .doOnNext(branch -> eventPublisher.publishEvent(new BranchChangedEvent(branch.getId(), branch.getVersion())))
+                .map(branchMapper::toDto)
+                .doOnNext(created -> auditLog.record("branch.created", created.getId(), created));
+    }
+
+    public Mono<BranchDTO> getBranchById(String id) {
+        log.debug("Getting branch with id: {}", id);
+        return branchRepository.findById(id)
+                .switchIfEmpty(notFound(id))
+                .map(branchMapper::toDto);
+    }
+
+    /**
+     * Returns the version of a branch with a lookup that reads only the
+     * version fields, to answer conditional requests without the holidays.
+     */
+    public Mono<ResourceVersion> getBranchVersion(String id) {
+        return findVersion(id).map(branch -> ResourceVersion.of(branch.getVersion(), branch.getLastModifiedDate()));
+    }
+
+    /**
+     * Returns the version of the effective holidays of a branch, which also
+     * change when one of its calendars changes.
+     */
+    public Mono<ResourceVersion> getHolidaysVersion(String id) {
+        return findVersion(id).flatMap(branch -> withCalendars(() -> calendarRegistry.withCalendars(
+                ResourceVersion.of(branch.getVersion(), branch.getLastModifiedDate()), branch.getCalendarIds())));
+    }
+
+    public Mono<BranchSummaryDTO> getBranchSummary(String id) {
+        log.debug("Getting summary of branch with id: {}", id);
+        return branchRepository.findSummaryById(id)
+                .switchIfEmpty(notFound(id))
+                .map(branchMapper::toSummaryDto);
+    }
+
+    public Mono<BranchDTO> updateBranchPhone(String id, String phoneNumber, Long expectedVersion) {
+        log.debug("Updating phone number for branch with id: {}", id);
+        return requireVersion(id, expectedVersion, branchRepository.updatePhoneNumber(id, phoneNumber, expectedVersion))
+                .doOnNext(branch -> {
+                    eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+                    auditLog.record("branch.phone-updated", id,
+                            Map.of("phoneNumber", phoneNumber, "version", branch.getVersion()));
+                })
+                .map(branchMapper::toDto);
+    }
+
+    public Mono<BranchDTO> addHolidays(String id, List<BranchHolidayDTO> holidays, Long expectedVersion) {
+        log.debug("Adding holidays to branch with id: {}", id);
+        List<BranchHoliday> newHolidays = HolidayLists.normalize(holidays.stream()
+                .map(branchMapper::toEntity)
+                .toList());
+        return requireVersion(id, expectedVersion, branchRepository.mergeHolidays(id, newHolidays, expectedVersion))
+                .flatMap(this::index)
+                .doOnNext(branch -> {
+                    eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+                    auditLog.record("branch.holidays-added", id,
+                            Map.of("holidays", holidays, "version", branch.getVersion()));
+                })
+                .map(branchMapper::toDto);
+    }
+
+    /**
+     * Removes holidays of the branch itself, rejecting dates that only one of
+     * its calendars provides, like {@link BranchService#removeHolidays}.
+     */
+    public Mono<BranchDTO> removeHolidays(String id, List<LocalDate> holidayDates, Long expectedVersion) {
+        log.debug("Removing holidays from branch with id: {}", id);
+        return branchRepository.findHolidayDatesById(id)
+                .switchIfEmpty(notFound(id))
+                .flatMap(current -> withCalendars(() -> {
+                    BranchService.rejectCalendarOnlyDates(current, holidayDates, calendarRegistry);
+                    return current;
+                }))
+                .flatMap(current -> requireVersion(id, expectedVersion,
+                        branchRepository.pullHolidays(id, holidayDates, expectedVersion)))
+                .flatMap(branch -> blocking(() -> {
+                    archiveService.removeArchivedHolidays(id, holidayDates);
+                    return branch;
+                }))
+                .flatMap(this::index)
+                .doOnNext(branch -> {
+                    eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+                    auditLog.record("branch.holidays-removed", id,
+                            Map.of("dates", holidayDates, "version", branch.getVersion()));
+                })
+                .map(branchMapper::toDto);
+    }
+
+    public Mono<BranchDTO> assignCalendars(String id, List<String> calendarIds, Long expectedVersion) {
+        log.debug("Assigning calendars {} to branch with id: {}", calendarIds, id);
+        List<String> distinctIds = calendarIds.stream().distinct().toList();
+        return withCalendars(() -> calendarRegistry.getDates(distinctIds))
+                .then(Mono.defer(() -> requireVersion(id, expectedVersion,
+                        branchRepository.assignCalendars(id, distinctIds, expectedVersion))))
+                .flatMap(this::index)
+                .doOnNext(branch -> {
+                    eventPublisher.publishEvent(new BranchChangedEvent(id, branch.getVersion()));
+                    auditLog.record("branch.calendars-assigned", id, Map.of("calendarIds", distinctIds,
+                            "version", branch.getVersion()));
+                })
+                .map(branchMapper::toDto);
+    }
+
+    public Mono<HolidayRolloutResultDTO> rolloutHolidays(HolidayRolloutDTO rollout) {
+        log.debug("Rolling out {} holidays to branches {} with state {}",
+                rollout.getHolidays().size(), rollout.getBranchIds(), rollout.getState());
+        List<BranchHoliday> holidays = HolidayLists.normalize(rollout.getHolidays().stream()
+                .map(branchMapper::toEntity)
+                .toList());
+        LocalDateTime since = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        return branchRepository.addHolidaysToBranches(rollout.getBranchIds(), rollout.getState(), holidays)
+                .flatMap(result -> result.getModifiedCount() == 0 ? Mono.just(result)
+                        : branchRepository.findRolloutChanges(rollout.getBranchIds(), rollout.getState(), since)
+                                .doOnNext(this::fence)
+                                .then(Mono.just(result)))
+                .map(result -> {
+                    HolidayRolloutResultDTO rolloutResult =
+                            new HolidayRolloutResultDTO(result.getMatchedCount(), result.getModifiedCount());
+                    auditLog.record("branch.holidays-rolled-out", null,
+                            Map.of("rollout", rollout, "result", rolloutResult));
+                    return rolloutResult;
+                });
+    }
+
+    /**
+     * Returns the effective holidays of a branch in a range. Holidays moved to
+     * the archive are only included when {@code includeArchived} is set.
+     */
+    public Mono<List<BranchHolidayDTO>> getBranchHolidays(String id, LocalDate from, LocalDate to, Integer year,
+                                                          boolean includeArchived) {
+        DateRange range = DateRange.of(from, to, year);
+        log.debug("Getting holidays from {} to {} for branch with id: {}", range.from(), range.to(), id);
+        Mono<Branch> branch = range.isUnbounded()
+                ? branchRepository.findHolidaysById(id)
+                : branchRepository.findHolidaysInRange(id, range.from(), range.to());
+        return branch
+                .switchIfEmpty(notFound(id))
+                .flatMap(found -> {
+                    List<BranchHoliday> stored = found.getBranchHolidays() == null
+                            ? List.of()
+                            : found.getBranchHolidays();
+                    Mono<List<BranchHoliday>> ownHolidays = includeArchived
+                            ? blocking(() -> HolidayLists.merge(
+                                    archiveService.getArchivedHolidays(id, range.from(), range.to()), stored))
+                            : Mono.just(stored);
+                    return ownHolidays.flatMap(own -> withCalendars(() -> calendarRegistry.resolve(
+                            own, found.getCalendarIds(), range.from(), range.to())));
+                })
+                .map(branchMapper::toHolidayDtoList);
+    }
+
+    public Flux<BranchSummaryDTO> getBranchesClosedOn(LocalDate date) {
+        log.debug("Getting branches closed on {}", date);
+        archiveService.requireUnarchived(date);
+        return withCalendars(() -> calendarRegistry.getCalendarIdsClosedOn(date))
+                .flatMapMany(calendarIds -> branchRepository.findSummariesByHolidayDate(date, calendarIds))
+                .map(branchMapper::toSummaryDto);
+    }
+
+    public Mono<Boolean> isHoliday(String id, LocalDate date, boolean includeArchived) {
+        log.debug("Checking if date {} is holiday for branch with id: {}", date, id);
+        if (!includeArchived) {
+            archiveService.requireUnarchived(date);
+        }
+        return getBusinessCalendar(id)
+                .map(calendar -> calendar.isHoliday(date))
+                .flatMap(holiday -> holiday || !includeArchived
+                        ? Mono.just(holiday)
+                        : blocking(() -> archiveService.isArchivedHoliday(id, date)));
+    }
+
+    public Mono<HolidayCheckBatchResultDTO> checkHolidays(HolidayCheckBatchDTO request) {
+        log.debug("Checking holidays from {} to {} for {} branches",
+                request.getFrom(), request.getTo(), request.getBranchIds().size());
+        DateRange range = DateRange.bounded(request.getFrom(), request.getTo(), BranchService.MAX_CHECK_DAYS);
+        archiveService.requireUnarchived(range.from());
+
+        return getBusinessCalendars(request.getBranchIds()).map(calendars -> {
+            Map<String, String> holidays = new LinkedHashMap<>();
+            for (String branchId : request.getBranchIds()) {
+                holidays.put(branchId, HolidayIndex.toBitmap(calendars.get(branchId).holidayDays(), range));
+            }
+            return BranchService.toCheckResult(range, holidays);
+        });
+    }
+
+    public Mono<LocalDate> nextBusinessDay(String id, LocalDate date) {
+        log.debug("Getting next business day after {} for branch with id: {}", date, id);
+        archiveService.requireUnarchived(date);
+        return getBusinessCalendar(id).map(calendar -> calendar.nextBusinessDay(date));
+    }
+
+    public Mono<LocalDate> addBusinessDays(String id, LocalDate date, int days) {
+        log.debug("Adding {} business days to {} for branch with id: {}", days, date, id);
+        archiveService.requireUnarchived(date);
+        int businessDays = BranchService.businessDays(days);
+        return getBusinessCalendar(id)
+                .map(calendar -> calendar.addBusinessDays(date, businessDays))
+                .doOnNext(archiveService::requireUnarchived);
+    }
+
+    public Mono<Long> countBusinessDays(String id, LocalDate from, LocalDate to) {
+        log.debug("Counting business days from {} to {} for branch with id: {}", from, to, id);
+        archiveService.requireUnarchived(from, to);
+        return getBusinessCalendar(id).map(calendar -> calendar.countBusinessDays(from, to));
+    }
+
+    /**
+     * Answers every query against the holiday index after loading the
+     * branches that are not indexed yet with a single query. Results keep the
+     * query order.
+     */
+    public Mono<List<BusinessDayResultDTO>> resolveBusinessDays(BusinessDayBatchDTO batch) {
+        log.debug("Resolving {} business day queries", batch.getQueries().size());
+        return getBusinessCalendars(batch.getQueries().stream().map(BusinessDayQueryDTO::getBranchId).toList())
+                .map(calendars -> batch.getQueries().stream()
+                        .map(query -> {
+                            archiveService.requireUnarchived(query.getDate(), query.getTo());
+                            BusinessDayResultDTO result =
+                                    BranchService.resolveBusinessDay(calendars.get(query.getBranchId()), query);
+                            archiveService.requireUnarchived(result.getResult());
+                            return result;
+                        })
+                        .toList());
+    }
+
+    private Mono<Branch> findVersion(String id) {
+        return branchRepository.findVersionById(id).switchIfEmpty(notFound(id));
+    }
+
+    private Mono<BusinessCalendar> getBusinessCalendar(String id) {
+        BusinessCalendar calendar = holidayIndex.getBusinessCalendarIfPresent(id);
+        if (calendar != null) {
+            return Mono.just(calendar);
+        }
+        return branchRepository.findHolidayDatesById(id)
+                .switchIfEmpty(notFound(id))
+                .flatMap(branch -> withCalendars(() -> holidayIndex.put(branch)));
+    }
+
+    /**
+     * Returns the calendars of the given branches, loading the ones that are
+     * not indexed yet with a single {@code $in} query.
+     */
+    private Mono<Map<String, BusinessCalendar>> getBusinessCalendars(Collection<String> branchIds) {
+        Map<String, BusinessCalendar> calendars = new LinkedHashMap<>();
+        List<String> missing = branchIds.stream()
+                .distinct()
+                .filter(branchId -> {
+                    BusinessCalendar calendar = holidayIndex.getBusinessCalendarIfPresent(branchId);
+                    if (calendar != null) {
+                        calendars.put(branchId, calendar);
+                    }
+                    return calendar == null;
+                })
+                .toList();
+        if (missing.isEmpty()) {
+            return Mono.just(calendars);
+        }
+        return branchRepository.findHolidayDatesByIdIn(missing)
+                .collectList()
+                .flatMap(found -> withCalendars(() -> {
+                    found.forEach(branch -> calendars.put(branch.getId(), holidayIndex.put(branch)));
+                    return calendars;
+                }))
+                .flatMap(loaded -> missing.stream()
+                        .filter(branchId -> !loaded.containsKey(branchId))
+                        .findFirst()
+                        .<Mono<Map<String, BusinessCalendar>>>map(ReactiveBranchService::notFound)
+                        .orElseGet(() -> Mono.just(loaded)));
+    }
+
+    /**
+     * Marks a branch changed by a bulk write at the version it was read back
+     * with, so reads of the older state are not cached or indexed.
+     */
+    private void fence(Branch branch) {
+        long version = branch.getVersion() == null ? 0L : branch.getVersion();
+        holidayIndex.fence(branch.getId(), version);
+        eventPublisher.publishEvent(new BranchChangedEvent(branch.getId(), version));
+    }
+
+    private Mono<Branch> index(Branch branch) {
+        return withCalendars(() -> {
+            holidayIndex.put(branch);
+            return branch;
+        });
+    }
+
+    /**
+     * Runs a step that reads the calendar registry. Loading the registry is a
+     * blocking query, so the step moves off the event loop unless the
+     * calendars are already loaded.
+     */
+    private <T> Mono<T> withCalendars(Callable<T> step) {
+        return Mono.defer(() -> calendarRegistry.isLoaded() ? Mono.fromCallable(step) : blocking(step));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> step) {
+        return Mono.fromCallable(step).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Reports a version mismatch of a conditional update as a failed
+     * precondition and a missing branch as not found.
+     */
+    private static Mono<Branch> requireVersion(String id, Long expectedVersion, Mono<Branch> update) {
+        return update
+                .switchIfEmpty(notFound(id))
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new PreconditionFailedException(
+                        "Branch with id " + id + " is no longer at version " + expectedVersion));
+    }
+
+    private Branch toEntity(BranchDTO branchDTO) {
+        Branch branch = branchMapper.toEntity(branchDTO);
+        branch.setBranchHolidays(HolidayLists.normalize(branch.getBranchHolidays()));
+        return branch;
+    }
+
+    private static <T> Mono<T> notFound(String id) {
+        return Mono.error(() -> new IllegalArgumentException("Branch not found with id: " + id));
+    }
+}
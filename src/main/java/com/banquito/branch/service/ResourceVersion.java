@@ -0,0 +1,35 @@
+package com.banquito.branch.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators of a representation for conditional requests: a strong entity
+ * tag and, when known, the last modification time.
+ */
+public record ResourceVersion(String eTag, Instant lastModified) {
+
+    public static ResourceVersion of(Long version, LocalDateTime lastModifiedDate) {
+        return new ResourceVersion(String.valueOf(version == null ? 0 : version), toInstant(lastModifiedDate));
+    }
+
+    /**
+     * Returns the last modification time in epoch milliseconds, or -1 when it
+     * is not known.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    static Instant latest(Instant first, Instant second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,37 @@
+package com.banquito.branch.startup;
+
+import com.banquito.branch.service.HolidayRepairService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Normalizes the stored holidays of every branch before the index migration,
+ * so the migrate profile leaves the collection sorted and unique by date.
+ */
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "branch.holiday-repair", name = "enabled", havingValue = "true")
+public class HolidayRepairRunner implements ApplicationRunner {
+
+    private final HolidayRepairService repairService;
+    private final ApplicationStartup applicationStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        StartupStep step = applicationStartup.start("branch.holiday-repair");
+        long start = System.nanoTime();
+        HolidayRepairService.Result result = repairService.repair();
+        step.tag("repaired", String.valueOf(result.repaired())).end();
+        log.info("Holiday repair scanned {} branches, repaired {} and skipped {} changed concurrently in {} ms",
+                result.scanned(), result.repaired(), result.skipped(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
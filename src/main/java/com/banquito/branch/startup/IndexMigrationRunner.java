@@ -0,0 +1,76 @@
+package com.banquito.branch.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on the mapped documents as an explicit step,
+ * for deployments that turn {@code auto-index-creation} off so pods do not
+ * build indexes while booting. With {@code branch.index-migration.exit} set
+ * the application stops once the indexes exist, so the same artifact can run
+ * as a one-off migration job (see the {@code migrate} profile).
+ */
+@Slf4j
+@Component
+@Order(1)
+@ConditionalOnProperty(prefix = "branch.index-migration", name = "enabled", havingValue = "true")
+public class IndexMigrationRunner implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final ApplicationStartup applicationStartup;
+    private final ConfigurableApplicationContext context;
+    private final boolean exit;
+
+    public IndexMigrationRunner(MongoTemplate mongoTemplate,
+                                MongoMappingContext mappingContext,
+                                ApplicationStartup applicationStartup,
+                                ConfigurableApplicationContext context,
+                                @Value("${branch.index-migration.exit:false}") boolean exit) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.applicationStartup = applicationStartup;
+        this.context = context;
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        StartupStep step = applicationStartup.start("branch.index-migration");
+        long start = System.nanoTime();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        int indexes = 0;
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOperations = mongoTemplate.indexOps(entity.getType());
+            for (var index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                log.info("Ensuring index {} on {}", index.getIndexKeys(), entity.getCollection());
+                indexOperations.ensureIndex(index);
+                indexes++;
+            }
+        }
+        step.tag("indexes", String.valueOf(indexes)).end();
+        log.info("Index migration ensured {} indexes in {} ms", indexes, (System.nanoTime() - start) / 1_000_000);
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
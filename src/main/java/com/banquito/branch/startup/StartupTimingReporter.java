@@ -0,0 +1,63 @@
+package com.banquito.branch.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Logs how long each startup phase took: context refresh, the startup
+ * runners (index migration and warm-up) and the slowest bean creations. The
+ * full timeline stays available at {@code /actuator/startup}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimingReporter {
+
+    private static final int SLOWEST_BEANS = 10;
+
+    private final ApplicationStartup applicationStartup;
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        log.info("Application context started in {} ms", event.getTimeTaken().toMillis());
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        log.info("Application ready to accept traffic in {} ms", event.getTimeTaken().toMillis());
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+        for (StartupTimeline.TimelineEvent step : timeline.getEvents()) {
+            String name = step.getStartupStep().getName();
+            if (name.equals("spring.context.refresh") || name.startsWith("branch.")) {
+                log.info("Startup phase {} took {} ms", name, step.getDuration().toMillis());
+            }
+        }
+        timeline.getEvents().stream()
+                .filter(step -> step.getStartupStep().getName().equals("spring.beans.instantiate"))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_BEANS)
+                .forEach(step -> log.info("Startup bean {} took {} ms", beanName(step),
+                        step.getDuration().toMillis()));
+    }
+
+    private static String beanName(StartupTimeline.TimelineEvent step) {
+        return StreamSupport.stream(step.getStartupStep().getTags().spliterator(), false)
+                .filter(tag -> tag.getKey().equals("beanName"))
+                .map(tag -> tag.getValue())
+                .collect(Collectors.joining());
+    }
+}
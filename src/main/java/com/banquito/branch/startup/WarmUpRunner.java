@@ -0,0 +1,102 @@
+package com.banquito.branch.startup;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.mapper.BranchMapper;
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.repository.BranchRepository;
+import com.banquito.branch.service.BusinessCalendar;
+import com.banquito.branch.service.HolidayIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Loads the most recently modified branches into the holiday index and runs
+ * the holiday, mapper and JSON paths over them a few times, so the first
+ * requests do not pay for cold caches and interpreted code. Runners finish
+ * before Spring Boot publishes {@code ApplicationReadyEvent}, so the readiness
+ * probe only reports ready once the warm-up is done. A failed warm-up is
+ * logged and does not stop the application.
+ */
+@Slf4j
+@Component
+@Order(2)
+@ConditionalOnProperty(prefix = "branch.warmup", name = "enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final BranchRepository branchRepository;
+    private final BranchMapper branchMapper;
+    private final HolidayIndex holidayIndex;
+    private final ObjectMapper objectMapper;
+    private final ApplicationStartup applicationStartup;
+    private final int branches;
+    private final int iterations;
+
+    public WarmUpRunner(BranchRepository branchRepository,
+                        BranchMapper branchMapper,
+                        HolidayIndex holidayIndex,
+                        ObjectMapper objectMapper,
+                        ApplicationStartup applicationStartup,
+                        @Value("${branch.warmup.branches:1000}") int branches,
+                        @Value("${branch.warmup.iterations:20}") int iterations) {
+        this.branchRepository = branchRepository;
+        this.branchMapper = branchMapper;
+        this.holidayIndex = holidayIndex;
+        this.objectMapper = objectMapper;
+        this.applicationStartup = applicationStartup;
+        this.branches = branches;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        StartupStep step = applicationStartup.start("branch.warmup");
+        long start = System.nanoTime();
+        try {
+            List<Branch> loaded = branchRepository.findAllBy(
+                    PageRequest.of(0, branches, Sort.by(Sort.Direction.DESC, "lastModifiedDate")));
+            loaded.forEach(holidayIndex::put);
+            long bytes = exercise(loaded);
+            step.tag("branches", String.valueOf(loaded.size()));
+            log.info("Warm-up loaded {} branches and ran {} iterations ({} bytes serialized) in {} ms",
+                    loaded.size(), iterations, bytes, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException | JsonProcessingException e) {
+            step.tag("failed", "true");
+            log.warn("Warm-up failed, continuing with cold caches", e);
+        } finally {
+            step.end();
+        }
+    }
+
+    private long exercise(List<Branch> loaded) throws JsonProcessingException {
+        LocalDate today = LocalDate.now();
+        long bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            LocalDate date = today.plusDays(i);
+            for (Branch branch : loaded) {
+                BusinessCalendar calendar = holidayIndex.compile(branch);
+                if (calendar.isHoliday(date)) {
+                    calendar.nextBusinessDay(date);
+                }
+                calendar.addBusinessDays(date, 5);
+                BranchDTO dto = branchMapper.toDto(branch);
+                bytes += objectMapper.writeValueAsBytes(dto).length;
+                bytes += objectMapper.writeValueAsBytes(branchMapper.toSummaryDto(branch)).length;
+            }
+        }
+        return bytes;
+    }
+}
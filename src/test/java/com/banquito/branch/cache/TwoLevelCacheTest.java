@@ -0,0 +1,58 @@
+package com.banquito.branch.cache;
+
+import com.banquito.branch.dto.BranchSummaryDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheTest {
+
+    private final ConcurrentMapCache shared = new ConcurrentMapCache("branchSummaries");
+    private final TwoLevelCache cache = new TwoLevelCache(
+            new CaffeineCache("branchSummaries", Caffeine.newBuilder().build()), shared);
+
+    @Test
+    void fenceKeepsAReadOfTheOldVersionOut() {
+        cache.put("b1", summary(3L));
+
+        cache.fence("b1", 4L);
+        cache.put("b1", summary(3L));
+
+        assertThat(cache.get("b1")).isNull();
+        assertThat(shared.get("b1").get()).isEqualTo(new Tombstone(4L));
+    }
+
+    @Test
+    void fenceGivesWayToTheFencedVersion() {
+        cache.fence("b1", 4L);
+        cache.put("b1", summary(4L));
+
+        assertThat(cache.get("b1", BranchSummaryDTO.class).getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void fenceDoesNotDisplaceAValueThatNew() {
+        cache.put("b1", summary(4L));
+
+        cache.fence("b1", 4L);
+
+        assertThat(cache.get("b1", BranchSummaryDTO.class).getVersion()).isEqualTo(4L);
+    }
+
+    @Test
+    void localFenceStillServesANewerSharedValue() {
+        cache.fenceLocal("b1", 4L);
+        shared.put("b1", summary(5L));
+
+        assertThat(cache.get("b1", BranchSummaryDTO.class).getVersion()).isEqualTo(5L);
+    }
+
+    private static BranchSummaryDTO summary(Long version) {
+        BranchSummaryDTO summary = new BranchSummaryDTO();
+        summary.setVersion(version);
+        return summary;
+    }
+}
@@ -0,0 +1,47 @@
+package com.banquito.branch.controller;
+
+import com.banquito.branch.dto.BranchDTO;
+import com.banquito.branch.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConditionalRequestsTest {
+
+    @Test
+    void noPreconditionWithoutATag() {
+        assertThat(ConditionalRequests.expectedVersion(null)).isNull();
+        assertThat(ConditionalRequests.expectedVersion(" ")).isNull();
+        assertThat(ConditionalRequests.expectedVersion("*")).isNull();
+    }
+
+    @Test
+    void readsTheBranchVersionOfATag() {
+        assertThat(ConditionalRequests.expectedVersion("\"7\"")).isEqualTo(7L);
+        assertThat(ConditionalRequests.expectedVersion(" \"7.2.5\" ")).isEqualTo(7L);
+    }
+
+    @Test
+    void rejectsWeakAndMalformedTags() {
+        assertThatThrownBy(() -> ConditionalRequests.expectedVersion("7"))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ConditionalRequests.expectedVersion("W/\"7\""))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> ConditionalRequests.expectedVersion("\"seven\""))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void okTagsTheResponseWithTheBranchVersion() {
+        BranchDTO branch = new BranchDTO();
+        branch.setVersion(3L);
+
+        ResponseEntity<BranchDTO> response = ConditionalRequests.ok(branch);
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+        assertThat(response.getHeaders().getLastModified()).isEqualTo(-1);
+        assertThat(response.getBody()).isSameAs(branch);
+    }
+}
@@ -0,0 +1,80 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BranchQueriesTest {
+
+    private TimeZone defaultTimeZone;
+    private MongoMappingContext mappingContext;
+    private MappingMongoConverter converter;
+
+    @BeforeEach
+    void useNonUtcTimeZone() {
+        defaultTimeZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Guayaquil"));
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void restoreTimeZone() {
+        TimeZone.setDefault(defaultTimeZone);
+    }
+
+    @Test
+    void replaceHolidaysFiltersOnTheDateAsItIsStored() {
+        LocalDate date = LocalDate.of(2024, 12, 25);
+        Update update = BranchQueries.replaceHolidays(List.of(holiday(date, "Christmas")), converter);
+
+        Document mapped = new UpdateMapper(converter).getMappedObject(update.getUpdateObject(),
+                mappingContext.getPersistentEntity(Branch.class));
+        Object stored = mapped.get("$set", Document.class)
+                .get("branchHolidays.$[holiday0]", Document.class).get("date");
+        Object filtered = update.getArrayFilters().get(0).asDocument().get("holiday0.date");
+
+        assertThat(filtered).isEqualTo(stored);
+        assertThat(filtered).isNotEqualTo(Date.from(date.atStartOfDay(ZoneOffset.UTC).toInstant()));
+    }
+
+    @Test
+    void missingFromKeepsOnlyDatesTheBranchDoesNotHave() {
+        Branch branch = new Branch();
+        branch.setBranchHolidays(List.of(holiday(LocalDate.of(2024, 1, 1), "New Year")));
+
+        List<BranchHoliday> missing = BranchQueries.missingFrom(branch, List.of(
+                holiday(LocalDate.of(2024, 1, 1), "Año Nuevo"),
+                holiday(LocalDate.of(2024, 12, 25), "Christmas")));
+
+        assertThat(missing).extracting(BranchHoliday::getName).containsExactly("Christmas");
+    }
+
+    private static BranchHoliday holiday(LocalDate date, String name) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(date);
+        holiday.setName(name);
+        return holiday;
+    }
+}
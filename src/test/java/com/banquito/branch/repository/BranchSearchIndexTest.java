@@ -0,0 +1,153 @@
+package com.banquito.branch.repository;
+
+import com.banquito.branch.dto.BranchSearchDTO;
+import com.banquito.branch.model.Branch;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks with {@code explain()} that the search queries are answered from the
+ * indexes declared on {@link Branch}. The embedded server used for local runs
+ * has no query planner, so these tests need a real MongoDB: set the
+ * {@code branch.test.mongodb-uri} system property or the
+ * {@code BRANCH_TEST_MONGODB_URI} environment variable, otherwise they are
+ * skipped.
+ */
+class BranchSearchIndexTest {
+
+    private static final String[] STATES = {"ACTIVE", "INACTIVE", "CLOSED"};
+    private static final String[] CITIES = {"Quito", "Guayaquil", "Cuenca", "Ambato"};
+
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static MongoPersistentEntity<?> entity;
+
+    @BeforeAll
+    static void setUp() {
+        String uri = System.getProperty("branch.test.mongodb-uri", System.getenv("BRANCH_TEST_MONGODB_URI"));
+        assumeTrue(uri != null, "No MongoDB configured for the index tests");
+        client = MongoClients.create(uri);
+        mongoTemplate = new MongoTemplate(client, "branch_search_index_test");
+        mongoTemplate.dropCollection(Branch.class);
+
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        entity = mappingContext.getRequiredPersistentEntity(Branch.class);
+        IndexOperations indexes = mongoTemplate.indexOps(Branch.class);
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(Branch.class)
+                .forEach(indexes::ensureIndex);
+
+        List<Branch> branches = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            Branch branch = new Branch();
+            branch.setEmailAddress("branch" + i + "@banquito.com");
+            branch.setName(CITIES[i % CITIES.length] + " Sucursal " + i);
+            branch.setState(STATES[i % STATES.length]);
+            branches.add(branch);
+        }
+        mongoTemplate.insertAll(branches);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            mongoTemplate.getDb().drop();
+            client.close();
+        }
+    }
+
+    @Test
+    void stateAndNamePrefixUseTheCompoundIndex() {
+        BranchSearchDTO search = new BranchSearchDTO();
+        search.setState("ACTIVE");
+        search.setName("Quito");
+
+        assertThat(indexesUsed(search, Sort.by("name").and(Sort.by("id")))).contains("state_name");
+    }
+
+    @Test
+    void namePrefixUsesAnIndexOnTheName() {
+        BranchSearchDTO search = new BranchSearchDTO();
+        search.setName("Cuenca Sucursal 1");
+
+        assertThat(indexesUsed(search, Sort.by("name").and(Sort.by("id")))).contains("name");
+    }
+
+    @Test
+    void emailUsesTheUniqueIndex() {
+        BranchSearchDTO search = new BranchSearchDTO();
+        search.setEmailAddress("branch7@banquito.com");
+
+        assertThat(indexesUsed(search, Sort.by("id"))).contains("emailAddress");
+    }
+
+    @Test
+    void textSearchUsesTheTextIndex() {
+        BranchSearchDTO search = new BranchSearchDTO();
+        search.setText("Ambato");
+        String textIndex = mongoTemplate.indexOps(Branch.class).getIndexInfo().stream()
+                .filter(index -> index.getIndexFields().stream().anyMatch(IndexField::isText))
+                .findFirst()
+                .orElseThrow()
+                .getName();
+
+        assertThat(indexesUsed(search, Sort.unsorted())).contains(textIndex);
+    }
+
+    /**
+     * Runs the search query through {@code explain()} and returns the names of
+     * the indexes in the winning plan, failing if it scans the collection.
+     */
+    private static Set<String> indexesUsed(BranchSearchDTO search, Sort sort) {
+        Pageable pageable = PageRequest.of(0, 20, sort);
+        Query query = BranchQueries.search(search, List.of(), pageable);
+        QueryMapper mapper = new QueryMapper(mongoTemplate.getConverter());
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Branch.class))
+                .find(mapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(mapper.getMappedSort(query.getSortObject(), entity))
+                .limit(query.getLimit())
+                .explain();
+        Object winningPlan = explain.get("queryPlanner", Document.class).get("winningPlan");
+        Set<String> stages = new HashSet<>();
+        Set<String> indexNames = new HashSet<>();
+        collect(winningPlan, stages, indexNames);
+        assertThat(stages).as("stages of %s", winningPlan).doesNotContain("COLLSCAN");
+        return indexNames;
+    }
+
+    private static void collect(Object node, Set<String> stages, Set<String> indexNames) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (document.get("indexName") instanceof String indexName) {
+                indexNames.add(indexName);
+            }
+            document.values().forEach(value -> collect(value, stages, indexNames));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collect(value, stages, indexNames));
+        }
+    }
+}
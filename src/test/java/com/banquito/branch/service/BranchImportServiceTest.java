@@ -0,0 +1,25 @@
+package com.banquito.branch.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BranchImportServiceTest {
+
+    @Test
+    void splitsAndTrimsPlainFields() {
+        assertThat(BranchImportService.splitCsvLine("a@b.com, Quito Norte ,+593,ACTIVE"))
+                .containsExactly("a@b.com", "Quito Norte", "+593", "ACTIVE");
+    }
+
+    @Test
+    void keepsCommasAndEscapedQuotesInsideQuotedFields() {
+        assertThat(BranchImportService.splitCsvLine("\"Quito, \"\"Norte\"\"\",ACTIVE"))
+                .containsExactly("Quito, \"Norte\"", "ACTIVE");
+    }
+
+    @Test
+    void keepsEmptyFields() {
+        assertThat(BranchImportService.splitCsvLine("a,,")).containsExactly("a", "", "");
+    }
+}
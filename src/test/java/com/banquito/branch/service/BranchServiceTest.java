@@ -0,0 +1,34 @@
+package com.banquito.branch.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BranchServiceTest {
+
+    @Test
+    void searchSortIsUnsortedWhenMissing() {
+        assertThat(BranchService.searchSort(null).isUnsorted()).isTrue();
+        assertThat(BranchService.searchSort(" ").isUnsorted()).isTrue();
+    }
+
+    @Test
+    void searchSortBreaksTiesById() {
+        assertThat(BranchService.searchSort("name"))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "name").and(Sort.by("id")));
+        assertThat(BranchService.searchSort("creationDate, desc"))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "creationDate").and(Sort.by("id")));
+    }
+
+    @Test
+    void searchSortRejectsUnknownFieldsAndExtraParts() {
+        assertThatThrownBy(() -> BranchService.searchSort("phoneNumber"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BranchService.searchSort("name,asc,id"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BranchService.searchSort("name,sideways"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.banquito.branch.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BusinessCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void countsWeekdaysWithoutHolidays() {
+        BusinessCalendar calendar = calendar();
+
+        assertThat(calendar.countBusinessDays(MONDAY, MONDAY.plusDays(6))).isEqualTo(5);
+        assertThat(calendar.countBusinessDays(MONDAY.plusDays(5), MONDAY.plusDays(6))).isZero();
+        assertThat(calendar.countBusinessDays(MONDAY, MONDAY)).isEqualTo(1);
+    }
+
+    @Test
+    void countsOnlyWeekdayHolidays() {
+        BusinessCalendar calendar = calendar(MONDAY, MONDAY.plusDays(5));
+
+        assertThat(calendar.countBusinessDays(MONDAY, MONDAY.plusDays(6))).isEqualTo(4);
+        assertThat(calendar.isHoliday(MONDAY.plusDays(5))).isTrue();
+        assertThat(calendar.isBusinessDay(MONDAY)).isFalse();
+        assertThat(calendar.isBusinessDay(MONDAY.plusDays(1))).isTrue();
+    }
+
+    @Test
+    void rejectsReversedRange() {
+        assertThatThrownBy(() -> calendar().countBusinessDays(MONDAY, MONDAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nextBusinessDaySkipsWeekendsAndHolidays() {
+        LocalDate friday = MONDAY.plusDays(4);
+        LocalDate nextMonday = MONDAY.plusDays(7);
+
+        assertThat(calendar().nextBusinessDay(friday)).isEqualTo(nextMonday);
+        assertThat(calendar(nextMonday).nextBusinessDay(friday)).isEqualTo(nextMonday.plusDays(1));
+    }
+
+    @Test
+    void addsBusinessDaysInBothDirections() {
+        LocalDate tuesday = MONDAY.plusDays(8);
+        BusinessCalendar calendar = calendar(MONDAY.plusDays(7));
+
+        assertThat(calendar.addBusinessDays(tuesday, -1)).isEqualTo(MONDAY.plusDays(4));
+        assertThat(calendar.addBusinessDays(MONDAY.plusDays(4), 1)).isEqualTo(tuesday);
+        assertThat(calendar.addBusinessDays(MONDAY, 10)).isEqualTo(MONDAY.plusDays(15));
+    }
+
+    @Test
+    void addingZeroDaysMovesToTheNextBusinessDay() {
+        LocalDate saturday = MONDAY.plusDays(5);
+
+        assertThat(calendar().addBusinessDays(saturday, 0)).isEqualTo(MONDAY.plusDays(7));
+        assertThat(calendar().addBusinessDays(MONDAY, 0)).isEqualTo(MONDAY);
+    }
+
+    @Test
+    void matchesDayByDayCount() {
+        Random random = new Random(42);
+        LocalDate[] holidays = IntStream.range(0, 60)
+                .mapToObj(i -> MONDAY.plusDays(random.nextInt(730)))
+                .toArray(LocalDate[]::new);
+        BusinessCalendar calendar = calendar(holidays);
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = MONDAY.plusDays(random.nextInt(700));
+            LocalDate to = from.plusDays(random.nextInt(60));
+            long expected = from.datesUntil(to.plusDays(1))
+                    .filter(date -> date.getDayOfWeek() != DayOfWeek.SATURDAY
+                            && date.getDayOfWeek() != DayOfWeek.SUNDAY
+                            && !calendar.isHoliday(date))
+                    .count();
+            assertThat(calendar.countBusinessDays(from, to)).as("%s to %s", from, to).isEqualTo(expected);
+        }
+    }
+
+    private static BusinessCalendar calendar(LocalDate... holidays) {
+        return new BusinessCalendar(Arrays.stream(holidays)
+                .mapToInt(date -> (int) date.toEpochDay())
+                .sorted()
+                .distinct()
+                .toArray());
+    }
+}
@@ -0,0 +1,69 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.model.HolidayCalendar;
+import com.banquito.branch.repository.HolidayCalendarRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HolidayCalendarRegistryTest {
+
+    private final HolidayCalendarRepository calendarRepository = mock(HolidayCalendarRepository.class);
+
+    @Test
+    void loadThatRacesAnInvalidationIsNotKept() {
+        HolidayCalendarRegistry registry = new HolidayCalendarRegistry(calendarRepository, Duration.ofMinutes(10));
+        AtomicReference<List<HolidayCalendar>> stored = new AtomicReference<>(List.of(calendar("old")));
+        when(calendarRepository.findAll()).thenAnswer(invocation -> {
+            List<HolidayCalendar> read = stored.get();
+            if (read.get(0).getId().equals("old")) {
+                stored.set(List.of(calendar("new")));
+                registry.invalidate();
+            }
+            return read;
+        });
+
+        assertThat(registry.contains("old")).isTrue();
+        assertThat(registry.contains("new")).isTrue();
+        assertThat(registry.contains("old")).isFalse();
+        verify(calendarRepository, times(2)).findAll();
+    }
+
+    @Test
+    void calendarsAreReloadedOnceExpired() {
+        HolidayCalendarRegistry registry = new HolidayCalendarRegistry(calendarRepository, Duration.ZERO);
+        when(calendarRepository.findAll()).thenReturn(List.of(calendar("a")));
+
+        registry.contains("a");
+        registry.contains("a");
+
+        verify(calendarRepository, times(2)).findAll();
+    }
+
+    @Test
+    void calendarsAreKeptUntilInvalidated() {
+        HolidayCalendarRegistry registry = new HolidayCalendarRegistry(calendarRepository, Duration.ofMinutes(10));
+        when(calendarRepository.findAll()).thenReturn(List.of(calendar("a")));
+
+        registry.contains("a");
+        registry.contains("a");
+        registry.invalidate();
+        registry.contains("a");
+
+        verify(calendarRepository, times(2)).findAll();
+    }
+
+    private static HolidayCalendar calendar(String id) {
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId(id);
+        return calendar;
+    }
+}
@@ -0,0 +1,75 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.dto.BranchHolidayDTO;
+import com.banquito.branch.logging.AuditLog;
+import com.banquito.branch.mapper.BranchMapper;
+import com.banquito.branch.mapper.HolidayCalendarMapper;
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.model.HolidayCalendar;
+import com.banquito.branch.repository.BranchRepository;
+import com.banquito.branch.repository.HolidayCalendarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HolidayCalendarServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 3);
+
+    private final HolidayCalendarRepository calendarRepository = mock(HolidayCalendarRepository.class);
+    private final BranchRepository branchRepository = mock(BranchRepository.class);
+    private final BranchMapper branchMapper = mock(BranchMapper.class);
+    private final HolidayCalendarService service = new HolidayCalendarService(calendarRepository,
+            branchRepository, mock(HolidayCalendarMapper.class), branchMapper,
+            mock(HolidayCalendarRegistry.class), mock(HolidayIndex.class), mock(ApplicationEventPublisher.class),
+            mock(AuditLog.class));
+
+    @BeforeEach
+    void setUp() {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(DATE);
+        when(branchMapper.toEntity(any(BranchHolidayDTO.class))).thenReturn(holiday);
+    }
+
+    @Test
+    void addMergesWithoutReadingTheCalendarFirst() {
+        when(calendarRepository.mergeHolidays(eq("c1"), anyList())).thenReturn(Optional.of(calendar(3L)));
+        when(branchRepository.touchByCalendarId("c1")).thenReturn(Stream.empty());
+
+        service.addHolidays("c1", List.of(new BranchHolidayDTO()));
+
+        verify(calendarRepository).mergeHolidays(eq("c1"), anyList());
+        verify(calendarRepository, never()).findById("c1");
+        verify(calendarRepository, never()).save(any());
+    }
+
+    @Test
+    void addToAMissingCalendarIsRejected() {
+        when(calendarRepository.mergeHolidays(eq("c1"), anyList())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.addHolidays("c1", List.of(new BranchHolidayDTO())))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(branchRepository, never()).touchByCalendarId("c1");
+    }
+
+    private static HolidayCalendar calendar(Long version) {
+        HolidayCalendar calendar = new HolidayCalendar();
+        calendar.setId("c1");
+        calendar.setVersion(version);
+        return calendar;
+    }
+}
@@ -0,0 +1,81 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.model.Branch;
+import com.banquito.branch.model.BranchHoliday;
+import com.banquito.branch.repository.BranchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class HolidayIndexTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void bitmapMarksHolidaysInsideTheRange() {
+        int[] days = {day(FROM.minusDays(1)), day(FROM), day(FROM.plusDays(3)), day(FROM.plusDays(10))};
+
+        assertThat(HolidayIndex.toBitmap(days, new DateRange(FROM, FROM.plusDays(4)))).isEqualTo("10010");
+    }
+
+    @Test
+    void bitmapOfARangeWithoutHolidaysIsAllZeros() {
+        assertThat(HolidayIndex.toBitmap(HolidayIndex.NO_HOLIDAYS, new DateRange(FROM, FROM.plusDays(2))))
+                .isEqualTo("000");
+        assertThat(HolidayIndex.toBitmap(new int[]{day(FROM.plusDays(5))}, new DateRange(FROM, FROM)))
+                .isEqualTo("0");
+    }
+
+    @Test
+    void writeDuringALoadIsNotOverwrittenByTheOlderRead() {
+        BranchRepository branchRepository = mock(BranchRepository.class);
+        HolidayIndex index = new HolidayIndex(branchRepository, mock(HolidayCalendarRegistry.class),
+                new SimpleMeterRegistry(), Duration.ofMinutes(10));
+        when(branchRepository.findHolidayDatesById("b1")).thenAnswer(invocation -> {
+            index.put(branch(5L, FROM.plusDays(1)));
+            return Optional.of(branch(3L, FROM));
+        });
+
+        assertThat(index.getHolidayDays("b1")).containsExactly(day(FROM.plusDays(1)));
+    }
+
+    @Test
+    void loadOlderThanAFenceIsAnsweredButNotKept() {
+        BranchRepository branchRepository = mock(BranchRepository.class);
+        HolidayIndex index = new HolidayIndex(branchRepository, mock(HolidayCalendarRegistry.class),
+                new SimpleMeterRegistry(), Duration.ofMinutes(10));
+        when(branchRepository.findHolidayDatesById("b1"))
+                .thenReturn(Optional.of(branch(3L, FROM)))
+                .thenReturn(Optional.of(branch(4L, FROM.plusDays(1))));
+        index.fence("b1", 4L);
+
+        assertThat(index.getHolidayDays("b1")).containsExactly(day(FROM));
+        assertThat(index.getHolidayDays("b1")).containsExactly(day(FROM.plusDays(1)));
+        assertThat(index.getHolidayDays("b1")).containsExactly(day(FROM.plusDays(1)));
+        verify(branchRepository, times(2)).findHolidayDatesById("b1");
+    }
+
+    private static Branch branch(Long version, LocalDate holiday) {
+        BranchHoliday branchHoliday = new BranchHoliday();
+        branchHoliday.setDate(holiday);
+        Branch branch = new Branch();
+        branch.setId("b1");
+        branch.setVersion(version);
+        branch.setBranchHolidays(List.of(branchHoliday));
+        return branch;
+    }
+
+    private static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+}
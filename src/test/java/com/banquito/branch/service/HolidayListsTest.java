@@ -0,0 +1,51 @@
+package com.banquito.branch.service;
+
+import com.banquito.branch.model.BranchHoliday;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HolidayListsTest {
+
+    @Test
+    void normalizeSortsAndKeepsTheLastHolidayOfADate() {
+        List<BranchHoliday> normalized = HolidayLists.normalize(List.of(
+                holiday(2024, 12, 25, "Christmas"),
+                holiday(2024, 1, 1, "Old name"),
+                holiday(2024, 1, 1, "New Year")));
+
+        assertThat(normalized).extracting(BranchHoliday::getName).containsExactly("New Year", "Christmas");
+        assertThat(HolidayLists.isNormalized(normalized)).isTrue();
+    }
+
+    @Test
+    void normalizeTreatsNullAsEmpty() {
+        assertThat(HolidayLists.normalize(null)).isEmpty();
+        assertThat(HolidayLists.isNormalized(null)).isTrue();
+    }
+
+    @Test
+    void duplicateDatesAreNotNormalized() {
+        assertThat(HolidayLists.isNormalized(List.of(holiday(2024, 1, 1, "A"), holiday(2024, 1, 1, "B")))).isFalse();
+    }
+
+    @Test
+    void mergeKeepsOrderAndLetsAddedHolidaysWin() {
+        List<BranchHoliday> merged = HolidayLists.merge(
+                List.of(holiday(2024, 1, 1, "New Year"), holiday(2024, 5, 1, "Labor Day")),
+                List.of(holiday(2024, 12, 25, "Christmas"), holiday(2024, 1, 1, "Año Nuevo")));
+
+        assertThat(merged).extracting(BranchHoliday::getName)
+                .containsExactly("Año Nuevo", "Labor Day", "Christmas");
+    }
+
+    private static BranchHoliday holiday(int year, int month, int day, String name) {
+        BranchHoliday holiday = new BranchHoliday();
+        holiday.setDate(LocalDate.of(year, month, day));
+        holiday.setName(name);
+        return holiday;
+    }
+}